@@ -0,0 +1,71 @@
+package com.hamza.courseenrollmentsystem.benchmark;
+
+import com.hamza.courseenrollmentsystem.dto.CourseDto;
+import com.hamza.courseenrollmentsystem.entity.Category;
+import com.hamza.courseenrollmentsystem.entity.Course;
+import com.hamza.courseenrollmentsystem.service.impl.CourseServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping in CourseServiceImpl.convertToDto over a page of loaded courses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourseMappingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int courses;
+
+    private List<Course> entities;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Category> categories = new ArrayList<>();
+        for (long c = 1; c <= 10; c++) {
+            Category category = new Category();
+            category.setId(c);
+            category.setName("Category " + c);
+            categories.add(category);
+        }
+
+        entities = new ArrayList<>(courses);
+        for (int i = 0; i < courses; i++) {
+            Course course = new Course();
+            course.setId((long) i + 1);
+            course.setTitle("Course " + i);
+            course.setDescription("Description of course " + i);
+            course.setInstructorApiId("instructor-" + (i % 50));
+            course.setCategory(categories.get(i % categories.size()));
+            course.setCapacity(i % 3 == 0 ? null : 30);
+            entities.add(course);
+        }
+    }
+
+    @Benchmark
+    public List<CourseDto> convertToDto() {
+        List<CourseDto> dtos = new ArrayList<>(entities.size());
+        for (Course course : entities) {
+            dtos.add(CourseServiceImpl.convertToDto(course));
+        }
+        return dtos;
+    }
+}
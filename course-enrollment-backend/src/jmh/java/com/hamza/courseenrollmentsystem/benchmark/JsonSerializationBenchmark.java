@@ -0,0 +1,72 @@
+package com.hamza.courseenrollmentsystem.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.hamza.courseenrollmentsystem.dto.CategoryDto;
+import com.hamza.courseenrollmentsystem.dto.CourseDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the catalog responses (CourseDto and CategoryDto lists),
+ * using an ObjectMapper configured the way Spring MVC builds its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private ObjectWriter courseListWriter;
+    private ObjectWriter categoryListWriter;
+    private List<CourseDto> courses;
+    private List<CategoryDto> categories;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        courseListWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, CourseDto.class));
+        categoryListWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, CategoryDto.class));
+
+        courses = new ArrayList<>(size);
+        categories = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long id = i + 1;
+            courses.add(new CourseDto(id, "Course " + i, "Description of course " + i,
+                    "instructor-" + (i % 50), id % 10 + 1, "Category " + (id % 10 + 1), i % 3 == 0 ? null : 30));
+            categories.add(new CategoryDto(id, "Category " + i, (long) (i % 40)));
+        }
+    }
+
+    @Benchmark
+    public byte[] courseList() throws Exception {
+        return courseListWriter.writeValueAsBytes(courses);
+    }
+
+    @Benchmark
+    public byte[] categoryList() throws Exception {
+        return categoryListWriter.writeValueAsBytes(categories);
+    }
+}
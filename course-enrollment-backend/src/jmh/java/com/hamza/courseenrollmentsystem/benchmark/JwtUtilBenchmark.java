@@ -0,0 +1,103 @@
+package com.hamza.courseenrollmentsystem.benchmark;
+
+import com.hamza.courseenrollmentsystem.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of issuing a token at login and of validating one API request's token.
+ *
+ * legacyValidate repeats what JwtUtil did before the key and parser were cached: derive the
+ * key and build a parser for every parse, and parse the token twice (subject, then expiry).
+ * parseOnce uses JwtUtil with the verified-token cache disabled, cachedValidate with it on.
+ * Each call picks the next of a pool of distinct user tokens.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationThatNeedsToBeVeryLongForHS256AlgorithmMinimum256Bits";
+
+    // Distinct tokens in rotation, like concurrently active users
+    @Param({"1000"})
+    private int users;
+
+    private JwtUtil uncachedJwtUtil;
+    private JwtUtil cachedJwtUtil;
+    private String[] tokens;
+    private String[] emails;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        uncachedJwtUtil = new JwtUtil(SECRET, 86_400_000L, 0, true, "none");
+        cachedJwtUtil = new JwtUtil(SECRET, 86_400_000L, 10_000, true, "none");
+        tokens = new String[users];
+        emails = new String[users];
+        for (int i = 0; i < users; i++) {
+            emails[i] = "student" + i + "@example.com";
+            tokens[i] = cachedJwtUtil.generateToken(emails[i], "STUDENT", (long) i);
+        }
+    }
+
+    @Benchmark
+    public String generate() {
+        int i = nextIndex();
+        return cachedJwtUtil.generateToken(emails[i], "STUDENT", (long) i);
+    }
+
+    @Benchmark
+    public boolean legacyValidate() {
+        int i = nextIndex();
+        String email = legacyParse(tokens[i]).getSubject();
+        Date expiration = legacyParse(tokens[i]).getExpiration();
+        return email.equals(emails[i]) && !expiration.before(new Date());
+    }
+
+    @Benchmark
+    public boolean parseOnce() {
+        int i = nextIndex();
+        return uncachedJwtUtil.validateToken(tokens[i], emails[i]);
+    }
+
+    @Benchmark
+    public boolean cachedValidate() {
+        int i = nextIndex();
+        return cachedJwtUtil.validateToken(tokens[i], emails[i]);
+    }
+
+    private int nextIndex() {
+        int i = next;
+        next = i + 1 == users ? 0 : i + 1;
+        return i;
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,109 @@
+package com.hamza.courseenrollmentsystem.benchmark;
+
+import com.hamza.courseenrollmentsystem.dto.CourseRatingDto;
+import com.hamza.courseenrollmentsystem.entity.CourseRatingStats;
+import com.hamza.courseenrollmentsystem.repository.CourseRatingStatsRepository;
+import com.hamza.courseenrollmentsystem.service.RatingDelta;
+import com.hamza.courseenrollmentsystem.service.RatingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rating aggregation in RatingService without the database: computing the aggregate
+ * delta for a rating change, and building the batch average-rating response from
+ * already-loaded CourseRatingStats rows (the repository is an in-memory stub).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RatingAggregationBenchmark {
+
+    // Course ids per batch lookup; every other course has ratings
+    @Param({"10", "100", "1000"})
+    private int courses;
+
+    private RatingService ratingService;
+    private List<Long> courseIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        Map<Long, CourseRatingStats> statsById = new LinkedHashMap<>();
+        courseIds = new ArrayList<>(courses);
+        for (long id = 1; id <= courses; id++) {
+            courseIds.add(id);
+            if (id % 2 == 0) {
+                CourseRatingStats stats = new CourseRatingStats();
+                stats.setCourseId(id);
+                stats.setFourStar(id);
+                stats.setFiveStar(2 * id);
+                stats.setRatingCount(3 * id);
+                stats.setRatingSum(4 * id + 10 * id);
+                statsById.put(id, stats);
+            }
+        }
+
+        CourseRatingStatsRepository repository = (CourseRatingStatsRepository) Proxy.newProxyInstance(
+                CourseRatingStatsRepository.class.getClassLoader(),
+                new Class<?>[] { CourseRatingStatsRepository.class },
+                (proxy, method, args) -> {
+                    if ("findAllById".equals(method.getName())) {
+                        List<CourseRatingStats> found = new ArrayList<>();
+                        for (Object id : (Iterable<?>) args[0]) {
+                            CourseRatingStats stats = statsById.get((Long) id);
+                            if (stats != null) {
+                                found.add(stats);
+                            }
+                        }
+                        return found;
+                    }
+                    if ("findAll".equals(method.getName()) && (args == null || args.length == 0)) {
+                        return new ArrayList<>(statsById.values());
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        ratingService = new RatingService();
+        Field field = RatingService.class.getDeclaredField("courseRatingStatsRepository");
+        field.setAccessible(true);
+        field.set(ratingService, repository);
+    }
+
+    @Benchmark
+    public RatingDelta ratingDelta() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int previous = random.nextInt(6);
+        return RatingDelta.of(previous == 0 ? null : previous, random.nextInt(1, 6));
+    }
+
+    @Benchmark
+    public Map<Long, CourseRatingDto> averageRatingsBatch() {
+        return ratingService.getAverageRatings(courseIds);
+    }
+
+    @Benchmark
+    public Map<Long, CourseRatingDto> averageRatingsAll() {
+        return ratingService.getAverageRatings(null);
+    }
+}
@@ -0,0 +1,85 @@
+package com.hamza.courseenrollmentsystem.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Individual course DTOs keyed by course id
+    public static final String COURSES = "courses";
+
+    // Course DTO lists keyed by "all" or "category:{id}"
+    public static final String COURSE_LISTS = "courseLists";
+
+    // Course pages keyed by "{afterId}:{limit}"; separate from COURSE_LISTS so client-chosen
+    // cursors can only evict other pages, never the list entries
+    public static final String COURSE_PAGES = "coursePages";
+
+    // User id and role keyed by email. Identities only change through UserService.registerUser,
+    // which evicts its email; a future path that edits a user's email or role, or deletes a user,
+    // must evict the entry too or the old identity is served until the TTL expires
+    public static final String USER_IDENTITIES = "userIdentities";
+
+    @Value("${cache.courses.maximum-size:1000}")
+    private long coursesMaximumSize;
+
+    @Value("${cache.courses.ttl:10m}")
+    private Duration coursesTtl;
+
+    @Value("${cache.course-lists.maximum-size:100}")
+    private long courseListsMaximumSize;
+
+    @Value("${cache.course-lists.ttl:10m}")
+    private Duration courseListsTtl;
+
+    @Value("${cache.course-pages.maximum-size:200}")
+    private long coursePagesMaximumSize;
+
+    @Value("${cache.course-pages.ttl:10m}")
+    private Duration coursePagesTtl;
+
+    @Value("${cache.user-identities.maximum-size:10000}")
+    private long userIdentitiesMaximumSize;
+
+    @Value("${cache.user-identities.ttl:30m}")
+    private Duration userIdentitiesTtl;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(COURSES, Caffeine.newBuilder()
+                .maximumSize(coursesMaximumSize)
+                .expireAfterWrite(coursesTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(COURSE_LISTS, Caffeine.newBuilder()
+                .maximumSize(courseListsMaximumSize)
+                .expireAfterWrite(courseListsTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(COURSE_PAGES, Caffeine.newBuilder()
+                .maximumSize(coursePagesMaximumSize)
+                .expireAfterWrite(coursePagesTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(USER_IDENTITIES, Caffeine.newBuilder()
+                .maximumSize(userIdentitiesMaximumSize)
+                .expireAfterWrite(userIdentitiesTtl)
+                .recordStats()
+                .build());
+
+        // Defer puts and evictions until the surrounding transaction commits,
+        // so a concurrent reader cannot re-cache data that is about to change
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -1,5 +1,6 @@
 package com.hamza.courseenrollmentsystem.config;
 
+import com.hamza.courseenrollmentsystem.dto.CursorPage;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -38,6 +39,7 @@ public class CorsConfig implements WebMvcConfigurer {
                     .allowedOriginPatterns("*")
                     .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH")
                     .allowedHeaders("*")
+                    .exposedHeaders(CursorPage.NEXT_CURSOR_HEADER)
                     .allowCredentials(false)
                     .maxAge(3600);
         } else {
@@ -45,6 +47,7 @@ public class CorsConfig implements WebMvcConfigurer {
                     .allowedOrigins(origins.toArray(new String[0]))
                     .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH")
                     .allowedHeaders("*")
+                    .exposedHeaders(CursorPage.NEXT_CURSOR_HEADER)
                     .allowCredentials(true)
                     .maxAge(3600);
         }
@@ -66,6 +69,7 @@ public class CorsConfig implements WebMvcConfigurer {
         }
 
         config.setAllowedHeaders(Arrays.asList("*"));
+        config.setExposedHeaders(Collections.singletonList(CursorPage.NEXT_CURSOR_HEADER));
         config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
         config.setMaxAge(3600L);
         source.registerCorsConfiguration("/api/**", config);
@@ -1,15 +1,18 @@
 package com.hamza.courseenrollmentsystem.config;
 
 import com.hamza.courseenrollmentsystem.entity.User;
+import com.hamza.courseenrollmentsystem.exception.PasswordHashingBusyException;
 import com.hamza.courseenrollmentsystem.repository.UserRepository;
+import com.hamza.courseenrollmentsystem.service.PasswordHashingService;
+import com.hamza.courseenrollmentsystem.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import java.util.Collections;
@@ -21,8 +24,12 @@ public class CustomAuthenticationProvider implements AuthenticationProvider {
     @Autowired
     private UserRepository userRepository;
 
-    // Create a local instance to avoid circular dependency
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    @Autowired
+    private UserService userService;
+
+    // BCrypt runs on its own bounded pool, not on the request thread
+    @Autowired
+    private PasswordHashingService passwordHashingService;
 
     @Override
     public Authentication authenticate(Authentication authentication) throws AuthenticationException {
@@ -39,21 +46,21 @@ public class CustomAuthenticationProvider implements AuthenticationProvider {
 
         // Check password - support both plain text (legacy) and BCrypt
         boolean passwordMatches;
-        if (user.getPassword().startsWith("$2a$") || user.getPassword().startsWith("$2b$")) {
-            // BCrypt encrypted password
-            passwordMatches = passwordEncoder.matches(password, user.getPassword());
+        if (passwordHashingService.isBcryptHash(user.getPassword())) {
+            // BCrypt encrypted password; a saturated pool is reported as a 503 by the failure handler
+            try {
+                passwordMatches = passwordHashingService.matches(password, user.getPassword());
+            } catch (PasswordHashingBusyException e) {
+                throw new AuthenticationServiceException(e.getMessage(), e);
+            }
         } else {
             // Plain text password (backward compatibility)
             passwordMatches = password.equals(user.getPassword());
-
-            // Auto-upgrade to BCrypt on successful login
-            if (passwordMatches) {
-                user.setPassword(passwordEncoder.encode(password));
-                userRepository.save(user);
-            }
         }
 
         if (passwordMatches) {
+            // Plain-text or weaker-cost passwords are re-hashed in the background
+            userService.upgradePasswordIfNeeded(user, password);
             return new UsernamePasswordAuthenticationToken(
                     email,
                     password,
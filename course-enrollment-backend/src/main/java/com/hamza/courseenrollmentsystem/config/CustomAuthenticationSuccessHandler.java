@@ -1,12 +1,14 @@
 package com.hamza.courseenrollmentsystem.config;
 
-import com.hamza.courseenrollmentsystem.entity.User;
-import com.hamza.courseenrollmentsystem.repository.UserRepository;
+import com.hamza.courseenrollmentsystem.dto.UserIdentityDto;
+import com.hamza.courseenrollmentsystem.service.UserService;
+import com.hamza.courseenrollmentsystem.util.JwtUtil;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
@@ -18,16 +20,29 @@ import java.io.IOException;
 public class CustomAuthenticationSuccessHandler implements AuthenticationSuccessHandler {
 
     @Autowired
-    private UserRepository userRepository;
+    private UserService userService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
 
     @Value("${frontend.url:https://course-enrollment-frontend-c9mr.onrender.com}")
     private String frontendUrl;
 
+    @Value("${security.stateless:false}")
+    private boolean stateless;
+
     @Override
     public void onAuthenticationSuccess(HttpServletRequest request,
                                         HttpServletResponse response,
                                         Authentication authentication) throws IOException, ServletException {
 
+        // Without a session the browser keeps the login in the JWT cookie instead
+        if (stateless) {
+            userService.findIdentityByEmail(authentication.getName()).ifPresent(user ->
+                    response.addHeader(HttpHeaders.SET_COOKIE, jwtUtil.createTokenCookie(
+                            jwtUtil.generateToken(user.getEmail(), user.getRole(), user.getId())).toString()));
+        }
+
         // Check if user has ADMIN role
         if (authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"))) {
             // Redirect to admin dashboard
@@ -35,7 +50,7 @@ public class CustomAuthenticationSuccessHandler implements AuthenticationSuccess
         } else if (authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_STUDENT"))) {
             // Get student ID and redirect to React dashboard with ID in URL
             String email = authentication.getName();
-            User student = userRepository.findByEmail(email).orElse(null);
+            UserIdentityDto student = userService.findIdentityByEmail(email).orElse(null);
             if (student != null) {
                 // Redirect to React frontend with student ID as query parameter
                 response.sendRedirect(frontendUrl + "?studentId=" + student.getId());
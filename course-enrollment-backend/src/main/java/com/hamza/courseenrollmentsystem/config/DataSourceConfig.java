@@ -0,0 +1,52 @@
+package com.hamza.courseenrollmentsystem.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * Wrap the auto-configured Hikari pool so nested connections (pooled id generation)
+     * come from a reserve pool of datasource.reserve-pool.size connections.
+     * The database sees at most maximum-pool-size + reserve-pool.size connections.
+     * Both pools report wait and usage times to a shared JdbcPoolMetrics, and with
+     * jdbc.query-stats.enabled statements are counted per request by QueryStatsDataSource.
+     */
+    @Bean
+    public static BeanPostProcessor nestedConnectionDataSourcePostProcessor(Environment environment) {
+        int reservePoolSize = environment.getProperty("datasource.reserve-pool.size", Integer.class, 4);
+        boolean queryStatsEnabled = environment.getProperty("jdbc.query-stats.enabled", Boolean.class, true);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource mainDataSource)) {
+                    return bean;
+                }
+                // Name the pool up front so main and reserve pools are reported as <name> and <name>-reserve
+                if (mainDataSource.getPoolName() == null) {
+                    mainDataSource.setPoolName(beanName);
+                }
+                if (mainDataSource.getMetricsTrackerFactory() == null) {
+                    mainDataSource.setMetricsTrackerFactory(new JdbcPoolMetrics());
+                }
+                DataSource dataSource = mainDataSource;
+                if (reservePoolSize > 0) {
+                    HikariConfig reserveConfig = new HikariConfig();
+                    mainDataSource.copyStateTo(reserveConfig);
+                    reserveConfig.setPoolName(mainDataSource.getPoolName() + "-reserve");
+                    reserveConfig.setMaximumPoolSize(reservePoolSize);
+                    reserveConfig.setMinimumIdle(0);
+                    dataSource = new NestedConnectionDataSource(mainDataSource, new HikariDataSource(reserveConfig));
+                }
+                return queryStatsEnabled ? new QueryStatsDataSource(dataSource) : dataSource;
+            }
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package com.hamza.courseenrollmentsystem.config;
+
+import com.hamza.courseenrollmentsystem.util.LatencyHistogram;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hikari metrics tracker recording, per pool, how long threads wait for a connection,
+ * how long connections are held and how many acquisitions time out, next to the pool's
+ * own active/idle/pending gauges. Installed on every Hikari pool by DataSourceConfig.
+ */
+public class JdbcPoolMetrics implements MetricsTrackerFactory {
+
+    private final Map<String, PoolTracker> pools = new ConcurrentHashMap<>();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        PoolTracker tracker = new PoolTracker(poolStats);
+        pools.put(poolName, tracker);
+        return tracker;
+    }
+
+    /**
+     * Gauges, wait and usage histograms and timeouts, keyed by pool name
+     */
+    public Map<String, Map<String, Object>> getStats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        pools.forEach((poolName, tracker) -> stats.put(poolName, tracker.toMap()));
+        return stats;
+    }
+
+    private static class PoolTracker implements IMetricsTracker {
+        private final PoolStats poolStats;
+        private final LatencyHistogram acquire = new LatencyHistogram();
+        private final LatencyHistogram usage = new LatencyHistogram();
+        private final LongAdder timeouts = new LongAdder();
+
+        PoolTracker(PoolStats poolStats) {
+            this.poolStats = poolStats;
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquire.recordNanos(elapsedAcquiredNanos);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            usage.recordNanos(TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis));
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.increment();
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("active", poolStats.getActiveConnections());
+            stats.put("idle", poolStats.getIdleConnections());
+            stats.put("total", poolStats.getTotalConnections());
+            stats.put("pending", poolStats.getPendingThreads());
+            stats.put("max", poolStats.getMaxConnections());
+            stats.put("timeouts", timeouts.sum());
+            stats.put("acquire", acquire.toMap());
+            stats.put("usage", usage.toMap());
+            return stats;
+        }
+    }
+}
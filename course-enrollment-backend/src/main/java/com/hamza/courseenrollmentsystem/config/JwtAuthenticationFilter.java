@@ -0,0 +1,86 @@
+package com.hamza.courseenrollmentsystem.config;
+
+import com.hamza.courseenrollmentsystem.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Collections;
+
+/**
+ * Authenticates requests carrying a JWT issued by AuthController.login, either as an
+ * "Authorization: Bearer" header or in the access_token cookie.
+ *
+ * The Authentication is built from the token's subject and role claim alone, without a
+ * database lookup, so any backend instance can serve the request. The principal is the
+ * email, as with form login. Requests with a missing or invalid token pass through
+ * unauthenticated.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+        this.jwtUtil = jwtUtil;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        // A session login already authenticated this request
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            String token = resolveToken(request);
+            if (token != null) {
+                jwtUtil.parseValidClaims(token).ifPresent(this::authenticate);
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private void authenticate(Claims claims) {
+        String role = claims.get("role", String.class);
+        if (claims.getSubject() == null || role == null) {
+            return;
+        }
+
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                claims.getSubject(),
+                null,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
+        );
+        authentication.setDetails(claims.get("userId", Long.class));
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+    }
+
+    private String resolveToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            return header.substring(BEARER_PREFIX.length()).trim();
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (JwtUtil.ACCESS_TOKEN_COOKIE.equals(cookie.getName()) && !cookie.getValue().isEmpty()) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+}
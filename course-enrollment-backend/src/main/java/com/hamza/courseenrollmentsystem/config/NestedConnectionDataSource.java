@@ -0,0 +1,86 @@
+package com.hamza.courseenrollmentsystem.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Serves a thread's second, nested connection from a small reserve pool.
+ *
+ * Hibernate's pooled table generator fetches each new id block on a separate connection
+ * while the inserting transaction still holds its own. When every connection of the main
+ * pool is held by such a transaction, the id fetch can never get one and the pool
+ * deadlocks until the connection timeout. Nested acquisitions are short and never nest
+ * further, so a few reserve connections always let them through. The generator also runs
+ * inside a synchronized block, so this keeps a virtual thread from staying pinned while
+ * it waits for a connection.
+ */
+public class NestedConnectionDataSource extends DelegatingDataSource implements Closeable {
+
+    // Connections from the main pool currently held by this thread
+    private static final ThreadLocal<int[]> HELD = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final DataSource reserveDataSource;
+
+    public NestedConnectionDataSource(DataSource mainDataSource, DataSource reserveDataSource) {
+        super(mainDataSource);
+        this.reserveDataSource = reserveDataSource;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int[] held = HELD.get();
+        if (held[0] > 0) {
+            return reserveDataSource.getConnection();
+        }
+        Connection connection = obtainTargetDataSource().getConnection();
+        held[0]++;
+        return trackClose(connection, held);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        int[] held = HELD.get();
+        if (held[0] > 0) {
+            return reserveDataSource.getConnection(username, password);
+        }
+        Connection connection = obtainTargetDataSource().getConnection(username, password);
+        held[0]++;
+        return trackClose(connection, held);
+    }
+
+    // Decrement the holder's count exactly once when the connection goes back to the pool
+    private static Connection trackClose(Connection connection, int[] held) {
+        boolean[] closed = new boolean[1];
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && !closed[0]) {
+                        closed[0] = true;
+                        held[0]--;
+                    } else if ("unwrap".equals(method.getName()) && ((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (reserveDataSource instanceof Closeable reserve) {
+            reserve.close();
+        }
+        if (getTargetDataSource() instanceof Closeable main) {
+            main.close();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.hamza.courseenrollmentsystem.config;
+
+import com.hamza.courseenrollmentsystem.util.QueryStats;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Feeds QueryStats from the JDBC layer: every executed statement is timed and counted
+ * with the rows it updated or returned, whichever code issued it (Hibernate, JdbcTemplate).
+ *
+ * Statements are only wrapped while a QueryStats scope is open on the thread (an HTTP
+ * request, or a QueryBudget assertion), so background jobs pay nothing.
+ */
+public class QueryStatsDataSource extends DelegatingDataSource implements Closeable {
+
+    public QueryStatsDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (getTargetDataSource() instanceof Closeable target) {
+            target.close();
+        }
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    if ("unwrap".equals(method.getName()) && ((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    Object result = invoke(connection, method, args);
+                    if (!QueryStats.isRecording() || !(result instanceof Statement statement)) {
+                        return result;
+                    }
+                    // prepareStatement/prepareCall carry their SQL; plain statements get it on execute
+                    String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                    return wrapStatement(statement, sql);
+                });
+    }
+
+    private static Statement wrapStatement(Statement statement, String preparedSql) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if ("unwrap".equals(name) && ((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    if (!name.startsWith("execute")) {
+                        Object result = invoke(statement, method, args);
+                        return result instanceof ResultSet resultSet && "getResultSet".equals(name)
+                                ? wrapResultSet(resultSet) : result;
+                    }
+
+                    String sql = preparedSql != null ? preparedSql
+                            : args != null && args.length > 0 && args[0] instanceof String s ? QueryStats.shapeOf(s) : "(batch)";
+                    long start = System.nanoTime();
+                    Object result = invoke(statement, method, args);
+                    long nanos = System.nanoTime() - start;
+                    QueryStats.recordStatement(sql, nanos, updatedRows(result));
+                    return result instanceof ResultSet resultSet ? wrapResultSet(resultSet) : result;
+                });
+    }
+
+    // Rows are counted as the caller reads them
+    private static ResultSet wrapResultSet(ResultSet resultSet) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+                (proxy, method, args) -> {
+                    if ("unwrap".equals(method.getName()) && ((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    Object result = invoke(resultSet, method, args);
+                    if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                        QueryStats.recordRows(1);
+                    }
+                    return result;
+                });
+    }
+
+    // executeUpdate and executeBatch return update counts; a negative count means unknown
+    private static long updatedRows(Object result) {
+        if (result instanceof Number count) {
+            return Math.max(0, count.longValue());
+        }
+        long rows = 0;
+        if (result instanceof int[] counts) {
+            for (int count : counts) {
+                rows += Math.max(0, count);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                rows += Math.max(0, count);
+            }
+        }
+        return rows;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.hamza.courseenrollmentsystem.config;
+
+import com.hamza.courseenrollmentsystem.util.QueryStats;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Counts the JDBC statements, rows and database time of each HTTP request.
+ *
+ * The totals are set as request attributes (jdbc.statements, jdbc.rows, jdbc.time-ms) for
+ * the access log, logged per request at DEBUG, and any statement shape executed at least
+ * jdbc.query-stats.repeated-statement-threshold times in one request is logged as a
+ * likely N+1 at WARN.
+ */
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryStatsFilter.class);
+
+    public static final String STATEMENTS_ATTRIBUTE = "jdbc.statements";
+    public static final String ROWS_ATTRIBUTE = "jdbc.rows";
+    public static final String TIME_ATTRIBUTE = "jdbc.time-ms";
+
+    private final int repeatedStatementThreshold;
+
+    public QueryStatsFilter(int repeatedStatementThreshold) {
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryStats stats = QueryStats.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            stats.close();
+            report(request, response, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, HttpServletResponse response, QueryStats stats) {
+        request.setAttribute(STATEMENTS_ATTRIBUTE, stats.getStatementCount());
+        request.setAttribute(ROWS_ATTRIBUTE, stats.getRowCount());
+        request.setAttribute(TIME_ATTRIBUTE, String.format("%.2f", stats.getDbTimeMillis()));
+
+        if (stats.getStatementCount() == 0) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        if (logger.isDebugEnabled()) {
+            logger.debug("{} -> {}: {}", endpoint, response.getStatus(), stats);
+        }
+        Map<String, Integer> repeated = stats.getRepeatedStatements(repeatedStatementThreshold);
+        repeated.forEach((shape, count) ->
+                logger.warn("Likely N+1 in {}: {} of {} statements were {}", endpoint, count, stats.getStatementCount(), shape));
+    }
+}
@@ -0,0 +1,42 @@
+package com.hamza.courseenrollmentsystem.config;
+
+import com.hamza.courseenrollmentsystem.service.RequestMetricsService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Times every request that reaches a controller mapping and records it against the
+ * mapping's URI pattern. Requests rejected by Spring Security before dispatch are not seen.
+ */
+public class RequestMetricsInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".start";
+
+    private final RequestMetricsService requestMetricsService;
+
+    public RequestMetricsInterceptor(RequestMetricsService requestMetricsService) {
+        this.requestMetricsService = requestMetricsService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // An async dispatch re-enters here; keep the time of the original request
+        if (request.getAttribute(START_ATTRIBUTE) == null) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (!(start instanceof Long startNanos)) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        requestMetricsService.record(request.getMethod(), pattern != null ? pattern.toString() : "UNMAPPED",
+                System.nanoTime() - startNanos, response.getStatus(), ex != null);
+    }
+}
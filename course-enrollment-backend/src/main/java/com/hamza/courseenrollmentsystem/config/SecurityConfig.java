@@ -1,21 +1,31 @@
 package com.hamza.courseenrollmentsystem.config;
 
 import com.hamza.courseenrollmentsystem.entity.User;
+import com.hamza.courseenrollmentsystem.exception.PasswordHashingBusyException;
 import com.hamza.courseenrollmentsystem.repository.UserRepository;
+import com.hamza.courseenrollmentsystem.service.PasswordHashingService;
+import com.hamza.courseenrollmentsystem.util.JwtUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfigurationSource;
 
+import java.io.IOException;
 import java.util.Collections;
 
 @Configuration
@@ -33,6 +43,16 @@ public class SecurityConfig {
     @Autowired
     private CorsConfigurationSource corsConfigurationSource;
 
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    // Stateless mode: no HTTP session, every request is authenticated from its JWT
+    @Value("${security.stateless:false}")
+    private boolean stateless;
+
     @Value("${frontend.url:https://course-enrollment-frontend-c9mr.onrender.com}")
     private String frontendUrl;
 
@@ -51,40 +71,58 @@ public class SecurityConfig {
                         .requestMatchers("/admin/**").hasRole("ADMIN")
                         // Student routes - require STUDENT role
                         .requestMatchers("/student/**").hasRole("STUDENT")
+                        // Prometheus scrape, checked against metrics.scrape-token by MetricsScrapeController
+                        .requestMatchers("/metrics/**").permitAll()
                         // Public routes
                         .requestMatchers("/", "/login", "/register", "/api/**", "/css/**", "/js/**").permitAll()
                         // All other routes are open for development
                         .anyRequest().permitAll()
                 )
-                .sessionManagement(session -> session
-                        .sessionFixation().migrateSession()
-                        .maximumSessions(5)
-                        .maxSessionsPreventsLogin(false)
-                )
+                .sessionManagement(session -> {
+                    if (stateless) {
+                        session.sessionCreationPolicy(SessionCreationPolicy.STATELESS);
+                    } else {
+                        session.sessionFixation().migrateSession()
+                                .maximumSessions(5)
+                                .maxSessionsPreventsLogin(false);
+                    }
+                })
+                // Authenticate Bearer tokens (and the token cookie) from their claims, no user lookup
+                .addFilterBefore(new JwtAuthenticationFilter(jwtUtil), UsernamePasswordAuthenticationFilter.class)
                 .formLogin(form -> form
                         .loginPage("/login")
                         .usernameParameter("email")  // Use email instead of username
                         .successHandler(successHandler)  // Use custom success handler for role-based redirect
-                        .failureUrl("/login?error")
+                        .failureHandler(this::onLoginFailure)
                         .permitAll()
                 )
                 .logout(logout -> logout
                         .logoutUrl("/logout")
                         .logoutSuccessUrl(frontendUrl)
                         .invalidateHttpSession(true)
-                        .deleteCookies("JSESSIONID")
+                        .deleteCookies("JSESSIONID", JwtUtil.ACCESS_TOKEN_COOKIE)
                         .permitAll()
                 );
 
         return http.build();
     }
 
+    // Saturated password hashing pool: fail fast with 503 instead of "wrong password"
+    private void onLoginFailure(HttpServletRequest request, HttpServletResponse response,
+                                AuthenticationException exception) throws IOException {
+        if (exception.getCause() instanceof PasswordHashingBusyException) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(PasswordHashingBusyException.RETRY_AFTER_SECONDS));
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, exception.getMessage());
+            return;
+        }
+        response.sendRedirect(request.getContextPath() + "/login?error");
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        // BCryptPasswordEncoder for password encryption
-        // Note: Actual encryption is handled in UserService and CustomAuthenticationProvider
-        // using local instances to avoid circular dependencies
-        return new BCryptPasswordEncoder();
+        // BCryptPasswordEncoder at the cost calibrated by PasswordHashingService
+        // Note: Actual encryption is handled by PasswordHashingService on its own bounded pool
+        return new BCryptPasswordEncoder(passwordHashingService.getStrength());
     }
 
     @Bean
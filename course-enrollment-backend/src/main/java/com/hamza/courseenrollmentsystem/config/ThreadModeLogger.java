@@ -0,0 +1,60 @@
+package com.hamza.courseenrollmentsystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Logs which thread model serves requests and @Async work, next to the JDBC pool size
+ * that bounds how much of that concurrency reaches the database.
+ *
+ * spring.threads.virtual.enabled only takes effect on Java 21+; on an older runtime
+ * Spring Boot silently keeps platform threads, so startup fails instead.
+ */
+@Component
+public class ThreadModeLogger {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadModeLogger.class);
+
+    private final DataSource dataSource;
+
+    private final boolean virtualThreadsEnabled;
+
+    public ThreadModeLogger(DataSource dataSource,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled) {
+        int javaVersion = Runtime.version().feature();
+        if (virtualThreadsEnabled && javaVersion < 21) {
+            throw new IllegalStateException("spring.threads.virtual.enabled is set but Java " + javaVersion
+                    + " has no virtual threads; run on Java 21+ or drop the virtual-threads profile");
+        }
+        this.dataSource = dataSource;
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logThreadMode() {
+        int poolSize = poolSize();
+
+        if (!virtualThreadsEnabled) {
+            logger.info("Requests and @Async tasks run on platform threads; JDBC pool size {}", poolSize);
+        } else {
+            logger.info("Requests and @Async tasks run on virtual threads; JDBC pool size {} bounds database concurrency",
+                    poolSize);
+        }
+    }
+
+    private int poolSize() {
+        try {
+            return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+        } catch (SQLException e) {
+            return -1;
+        }
+    }
+}
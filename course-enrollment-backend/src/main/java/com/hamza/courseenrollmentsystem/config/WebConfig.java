@@ -1,12 +1,18 @@
 package com.hamza.courseenrollmentsystem.config;
 
+import com.hamza.courseenrollmentsystem.dto.CursorPage;
+import com.hamza.courseenrollmentsystem.service.RequestMetricsService;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.util.Arrays;
@@ -18,22 +24,49 @@ public class WebConfig implements WebMvcConfigurer {
     @Value("${allowed.origins:https://course-enrollment-frontend-c9mr.onrender.com}")
     private String allowedOrigins;
 
+    private final RequestMetricsService requestMetricsService;
+
+    public WebConfig(RequestMetricsService requestMetricsService) {
+        this.requestMetricsService = requestMetricsService;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestMetricsInterceptor(requestMetricsService));
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
                 .allowedOrigins(allowedOrigins.split(","))
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders(CursorPage.NEXT_CURSOR_HEADER)
                 .allowCredentials(true)
                 .maxAge(3600);
     }
 
+    /**
+     * Count JDBC statements per request; ordered ahead of Spring Security so login
+     * and JWT authentication queries are included
+     */
+    @Bean
+    @ConditionalOnProperty(name = "jdbc.query-stats.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<QueryStatsFilter> queryStatsFilter(
+            @Value("${jdbc.query-stats.repeated-statement-threshold:5}") int repeatedStatementThreshold) {
+        FilterRegistrationBean<QueryStatsFilter> registration =
+                new FilterRegistrationBean<>(new QueryStatsFilter(repeatedStatementThreshold));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Arrays.asList(allowedOrigins.split(",")));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
+        configuration.setExposedHeaders(List.of(CursorPage.NEXT_CURSOR_HEADER));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
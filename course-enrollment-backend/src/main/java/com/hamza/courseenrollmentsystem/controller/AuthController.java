@@ -6,6 +6,8 @@ import com.hamza.courseenrollmentsystem.util.JwtUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -32,6 +34,9 @@ public class AuthController {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Value("${security.stateless:false}")
+    private boolean stateless;
+
     @PostMapping("/register")
     public ResponseEntity<Map<String, Object>> register(@RequestBody User user) {
         Map<String, Object> response = new HashMap<>();
@@ -61,6 +66,8 @@ public class AuthController {
         User user = userOptional.get();
         if (userService.checkPassword(loginRequest.getPassword(), user.getPassword())) {
             // Password authentication successful (supports both BCrypt and plain text)
+            // Plain-text or weaker-cost passwords are re-hashed in the background
+            userService.upgradePasswordIfNeeded(user, loginRequest.getPassword());
 
             // Create Spring Security authentication
             UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
@@ -73,13 +80,18 @@ public class AuthController {
             SecurityContext securityContext = SecurityContextHolder.getContext();
             securityContext.setAuthentication(authToken);
 
-            // Create session and store SecurityContext
-            HttpSession session = request.getSession(true);
-            session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, securityContext);
-
             // Generate JWT token
             String token = jwtUtil.generateToken(user.getEmail(), user.getRole(), user.getId());
 
+            // Create session and store SecurityContext; in stateless mode the token alone carries the login
+            HttpHeaders headers = new HttpHeaders();
+            if (stateless) {
+                headers.add(HttpHeaders.SET_COOKIE, jwtUtil.createTokenCookie(token).toString());
+            } else {
+                HttpSession session = request.getSession(true);
+                session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, securityContext);
+            }
+
             response.put("success", true);
             response.put("message", "Login successful! Welcome " + user.getUsername());
             response.put("studentId", user.getId());
@@ -88,7 +100,7 @@ public class AuthController {
             response.put("email", user.getEmail());
             response.put("role", user.getRole());
             response.put("token", token);  // Add JWT token
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().headers(headers).body(response);
         } else {
             response.put("success", false);
             response.put("message", "Invalid password!");
@@ -111,6 +123,8 @@ public class AuthController {
 
         response.put("success", true);
         response.put("message", "Logged out successfully");
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, jwtUtil.clearTokenCookie().toString())
+                .body(response);
     }
 }
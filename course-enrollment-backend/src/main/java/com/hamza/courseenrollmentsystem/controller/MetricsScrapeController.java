@@ -0,0 +1,207 @@
+package com.hamza.courseenrollmentsystem.controller;
+
+import com.hamza.courseenrollmentsystem.service.LiveUpdateService;
+import com.hamza.courseenrollmentsystem.service.PasswordHashingService;
+import com.hamza.courseenrollmentsystem.service.RatingWriteBehindService;
+import com.hamza.courseenrollmentsystem.service.RequestMetricsService;
+import com.hamza.courseenrollmentsystem.service.ResourceStatsService;
+import com.hamza.courseenrollmentsystem.util.LatencyHistogram;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+
+/**
+ * Prometheus scrape endpoint, kept outside /admin/** so a scraper authenticates with a static
+ * token from configuration instead of an admin JWT that expires
+ */
+@RestController
+@RequestMapping("/metrics")
+public class MetricsScrapeController {
+
+    private static final MediaType PROMETHEUS_TEXT = MediaType.parseMediaType("text/plain; version=0.0.4; charset=utf-8");
+
+    private static final double[] QUANTILES = { 0.5, 0.99, 0.999 };
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final RequestMetricsService requestMetricsService;
+    private final ResourceStatsService resourceStatsService;
+    private final PasswordHashingService passwordHashingService;
+    private final LiveUpdateService liveUpdateService;
+    private final RatingWriteBehindService ratingWriteBehindService;
+    private final String scrapeToken;
+
+    public MetricsScrapeController(RequestMetricsService requestMetricsService,
+                                   ResourceStatsService resourceStatsService,
+                                   PasswordHashingService passwordHashingService,
+                                   LiveUpdateService liveUpdateService,
+                                   RatingWriteBehindService ratingWriteBehindService,
+                                   @Value("${metrics.scrape-token:}") String scrapeToken) {
+        this.requestMetricsService = requestMetricsService;
+        this.resourceStatsService = resourceStatsService;
+        this.passwordHashingService = passwordHashingService;
+        this.liveUpdateService = liveUpdateService;
+        this.ratingWriteBehindService = ratingWriteBehindService;
+        this.scrapeToken = scrapeToken.trim();
+    }
+
+    /**
+     * GET /metrics/prometheus
+     * The metrics of /admin/metrics/stats in the Prometheus text exposition format.
+     * Requires "Authorization: Bearer {metrics.scrape-token}"; not found while no token is configured.
+     */
+    @GetMapping("/prometheus")
+    public ResponseEntity<String> prometheus(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (scrapeToken.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!isScrapeToken(authorization)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).header(HttpHeaders.WWW_AUTHENTICATE, "Bearer").build();
+        }
+
+        StringBuilder out = new StringBuilder();
+
+        out.append("# TYPE http_server_requests_seconds summary\n");
+        for (RequestMetricsService.EndpointMetrics endpoint : requestMetricsService.getEndpoints()) {
+            writeSummary(out, "http_server_requests_seconds", labels("method", endpoint.getMethod(), "uri", endpoint.getUri()),
+                    endpoint.getLatency());
+        }
+        out.append("# TYPE http_server_requests_client_errors_total counter\n");
+        for (RequestMetricsService.EndpointMetrics endpoint : requestMetricsService.getEndpoints()) {
+            writeSample(out, "http_server_requests_client_errors_total",
+                    labels("method", endpoint.getMethod(), "uri", endpoint.getUri()), endpoint.getClientErrors());
+        }
+        out.append("# TYPE http_server_requests_errors_total counter\n");
+        for (RequestMetricsService.EndpointMetrics endpoint : requestMetricsService.getEndpoints()) {
+            writeSample(out, "http_server_requests_errors_total",
+                    labels("method", endpoint.getMethod(), "uri", endpoint.getUri()), endpoint.getErrors());
+        }
+
+        Map<String, Map<String, Object>> pools = resourceStatsService.getJdbcPoolStats();
+        for (String gauge : new String[] { "active", "idle", "pending", "max" }) {
+            out.append("# TYPE jdbc_connections_").append(gauge).append(" gauge\n");
+            pools.forEach((pool, stats) -> writeSample(out, "jdbc_connections_" + gauge, labels("pool", pool),
+                    ((Number) stats.get(gauge)).doubleValue()));
+        }
+        out.append("# TYPE jdbc_connections_timeouts_total counter\n");
+        pools.forEach((pool, stats) -> writeSample(out, "jdbc_connections_timeouts_total", labels("pool", pool),
+                ((Number) stats.get("timeouts")).doubleValue()));
+        writeSummaries(out, "jdbc_connections_acquire_seconds", pools, "acquire");
+        writeSummaries(out, "jdbc_connections_usage_seconds", pools, "usage");
+
+        Map<String, Map<String, Object>> caches = resourceStatsService.getCacheStats();
+        out.append("# TYPE cache_size gauge\n");
+        caches.forEach((cache, stats) -> writeSample(out, "cache_size", labels("cache", cache),
+                ((Number) stats.get("size")).doubleValue()));
+        out.append("# TYPE cache_gets_total counter\n");
+        caches.forEach((cache, stats) -> {
+            writeSample(out, "cache_gets_total", labels("cache", cache, "result", "hit"), ((Number) stats.get("hits")).doubleValue());
+            writeSample(out, "cache_gets_total", labels("cache", cache, "result", "miss"), ((Number) stats.get("misses")).doubleValue());
+        });
+        out.append("# TYPE cache_evictions_total counter\n");
+        caches.forEach((cache, stats) -> writeSample(out, "cache_evictions_total", labels("cache", cache),
+                ((Number) stats.get("evictions")).doubleValue()));
+
+        Map<String, Object> hashing = passwordHashingService.getStats();
+        out.append("# TYPE password_hashing_queue_depth gauge\n");
+        writeSample(out, "password_hashing_queue_depth", "", ((Number) hashing.get("queueDepth")).doubleValue());
+        out.append("# TYPE password_hashing_rejected_total counter\n");
+        writeSample(out, "password_hashing_rejected_total", "", ((Number) hashing.get("rejected")).doubleValue());
+        out.append("# TYPE password_hashing_timeouts_total counter\n");
+        writeSample(out, "password_hashing_timeouts_total", "", ((Number) hashing.get("timedOut")).doubleValue());
+
+        Map<String, Object> live = liveUpdateService.getStats();
+        out.append("# TYPE live_updates_subscribers gauge\n");
+        writeSample(out, "live_updates_subscribers", "", ((Number) live.get("subscribers")).doubleValue());
+        out.append("# TYPE live_updates_sent_total counter\n");
+        writeSample(out, "live_updates_sent_total", "", ((Number) live.get("sent")).doubleValue());
+        out.append("# TYPE live_updates_dropped_total counter\n");
+        writeSample(out, "live_updates_dropped_total", "", ((Number) live.get("dropped")).doubleValue());
+
+        Map<String, Object> writeBehind = ratingWriteBehindService.getStats();
+        out.append("# TYPE rating_write_behind_pending gauge\n");
+        writeSample(out, "rating_write_behind_pending", "", ((Number) writeBehind.get("pending")).doubleValue());
+        out.append("# TYPE rating_write_behind_oldest_pending_seconds gauge\n");
+        writeSample(out, "rating_write_behind_oldest_pending_seconds", "",
+                ((Number) writeBehind.get("oldestPendingMs")).doubleValue() / 1000.0);
+        out.append("# TYPE rating_write_behind_dropped_total counter\n");
+        writeSample(out, "rating_write_behind_dropped_total", "", ((Number) writeBehind.get("dropped")).doubleValue());
+        out.append("# TYPE rating_write_behind_lag_seconds summary\n");
+        writeSummary(out, "rating_write_behind_lag_seconds", "", ratingWriteBehindService.getFlushLag());
+
+        return ResponseEntity.ok().contentType(PROMETHEUS_TEXT).body(out.toString());
+    }
+
+    private void writeSummary(StringBuilder out, String name, String labels, LatencyHistogram histogram) {
+        for (double quantile : QUANTILES) {
+            String quantileLabel = (labels.isEmpty() ? "" : labels + ",") + "quantile=\"" + quantile + "\"";
+            writeSample(out, name, quantileLabel, histogram.getPercentileMillis(quantile) / 1000.0);
+        }
+        writeSample(out, name + "_count", labels, histogram.getCount());
+        writeSample(out, name + "_sum", labels, histogram.getMeanMillis() * histogram.getCount() / 1000.0);
+    }
+
+    // Summaries from the LatencyHistogram.toMap() entries of the pool stats
+    @SuppressWarnings("unchecked")
+    private void writeSummaries(StringBuilder out, String name, Map<String, Map<String, Object>> pools, String key) {
+        out.append("# TYPE ").append(name).append(" summary\n");
+        pools.forEach((pool, stats) -> {
+            Map<String, Object> histogram = (Map<String, Object>) stats.get(key);
+            String labels = labels("pool", pool);
+            writeSample(out, name, labels + ",quantile=\"0.5\"", ((Number) histogram.get("p50Ms")).doubleValue() / 1000.0);
+            writeSample(out, name, labels + ",quantile=\"0.99\"", ((Number) histogram.get("p99Ms")).doubleValue() / 1000.0);
+            writeSample(out, name, labels + ",quantile=\"0.999\"", ((Number) histogram.get("p999Ms")).doubleValue() / 1000.0);
+            long count = ((Number) histogram.get("count")).longValue();
+            writeSample(out, name + "_count", labels, count);
+            writeSample(out, name + "_sum", labels, ((Number) histogram.get("meanMs")).doubleValue() * count / 1000.0);
+        });
+    }
+
+    private void writeSample(StringBuilder out, String name, String labels, double value) {
+        out.append(name);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            // Histograms resolve microseconds; drop binary rounding noise below that
+            out.append(Math.round(value * 1e6) / 1e6);
+        }
+        out.append('\n');
+    }
+
+    // name="value" pairs with backslashes, quotes and newlines escaped
+    private String labels(String... namesAndValues) {
+        StringBuilder labels = new StringBuilder();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            if (i > 0) {
+                labels.append(',');
+            }
+            labels.append(namesAndValues[i]).append("=\"")
+                    .append(namesAndValues[i + 1].replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n"))
+                    .append('"');
+        }
+        return labels.toString();
+    }
+
+    // Constant-time comparison, so response times do not reveal how much of the token matched
+    private boolean isScrapeToken(String authorization) {
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return false;
+        }
+        byte[] presented = authorization.substring(BEARER_PREFIX.length()).trim().getBytes(StandardCharsets.UTF_8);
+        return MessageDigest.isEqual(presented, scrapeToken.getBytes(StandardCharsets.UTF_8));
+    }
+}
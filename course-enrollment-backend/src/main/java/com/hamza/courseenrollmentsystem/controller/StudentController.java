@@ -1,9 +1,7 @@
 package com.hamza.courseenrollmentsystem.controller;
 
-import com.hamza.courseenrollmentsystem.entity.Enrollment;
-import com.hamza.courseenrollmentsystem.entity.User;
+import com.hamza.courseenrollmentsystem.dto.EnrolledCourseDto;
 import com.hamza.courseenrollmentsystem.repository.EnrollmentRepository;
-import com.hamza.courseenrollmentsystem.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
@@ -17,9 +15,6 @@ import java.util.List;
 @RequestMapping("/student")
 public class StudentController {
 
-    @Autowired
-    private UserRepository userRepository;
-
     @Autowired
     private EnrollmentRepository enrollmentRepository;
 
@@ -29,14 +24,10 @@ public class StudentController {
         String email = authentication.getName();
         model.addAttribute("email", email);
 
-        // Get user's enrollments
-        User user = userRepository.findByEmail(email).orElse(null);
-        if (user != null) {
-            List<Enrollment> enrollments = enrollmentRepository.findByUser(user);
-            model.addAttribute("enrollments", enrollments);
-        }
+        // Get user's enrolled courses in one query, joined by email so no user lookup is needed
+        List<EnrolledCourseDto> enrollments = enrollmentRepository.findCoursesByUserEmail(email);
+        model.addAttribute("enrollments", enrollments);
 
         return "student/student_dashboard";
     }
 }
-
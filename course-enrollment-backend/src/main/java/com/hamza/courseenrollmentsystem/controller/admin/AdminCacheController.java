@@ -0,0 +1,28 @@
+package com.hamza.courseenrollmentsystem.controller.admin;
+
+import com.hamza.courseenrollmentsystem.service.ResourceStatsService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/cache")
+public class AdminCacheController {
+
+    private final ResourceStatsService resourceStatsService;
+
+    public AdminCacheController(ResourceStatsService resourceStatsService) {
+        this.resourceStatsService = resourceStatsService;
+    }
+
+    /**
+     * GET /admin/cache/stats
+     * Hit, miss and eviction counters for every in-memory cache
+     */
+    @GetMapping("/stats")
+    public Map<String, Map<String, Object>> stats() {
+        return resourceStatsService.getCacheStats();
+    }
+}
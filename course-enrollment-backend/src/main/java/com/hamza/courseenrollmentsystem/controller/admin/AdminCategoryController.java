@@ -1,7 +1,14 @@
 package com.hamza.courseenrollmentsystem.controller.admin;
 
+import com.hamza.courseenrollmentsystem.config.CacheConfig;
+import com.hamza.courseenrollmentsystem.dto.CategoryDto;
+import com.hamza.courseenrollmentsystem.dto.CursorPage;
 import com.hamza.courseenrollmentsystem.entity.Category;
 import com.hamza.courseenrollmentsystem.repository.CategoryRepository;
+import com.hamza.courseenrollmentsystem.service.CatalogVersion;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -12,18 +19,21 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 public class AdminCategoryController {
 
     private final CategoryRepository repo;
+    private final CatalogVersion catalogVersion;
 
-    public AdminCategoryController(CategoryRepository repo) {
+    public AdminCategoryController(CategoryRepository repo, CatalogVersion catalogVersion) {
         this.repo = repo;
+        this.catalogVersion = catalogVersion;
     }
 
     @GetMapping
-    public String list(Model model) {
-        System.out.println("AdminCategoryController.list() called");
-        var categories = repo.findAll();
-        System.out.println("Found " + categories.size() + " categories");
-        model.addAttribute("categories", categories);
-        System.out.println("Returning view: admin/categories");
+    public String list(@RequestParam(required = false) String cursor, Model model) {
+        int limit = CursorPage.DEFAULT_LIMIT;
+        var rows = repo.findDtoPageAfter(CursorPage.decodeCursor(cursor), Limit.of(limit + 1));
+        CursorPage<CategoryDto> page = CursorPage.fromRows(rows, limit, CategoryDto::getId);
+        model.addAttribute("categories", page.getItems());
+        model.addAttribute("cursor", cursor);
+        model.addAttribute("nextCursor", page.getNextCursor());
         return "admin/categories";
     }
 
@@ -37,6 +47,7 @@ public class AdminCategoryController {
     @PostMapping("/add")
     public String save(@ModelAttribute Category category, Model model) {
         repo.save(category);
+        catalogVersion.bumpAfterCommit();
         model.addAttribute("categoryName", category.getName());
         return "admin/category_success";
     }
@@ -54,17 +65,27 @@ public class AdminCategoryController {
     }
 
     @PostMapping("/edit/{id}")
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.COURSES, allEntries = true),
+            @CacheEvict(cacheNames = {CacheConfig.COURSE_LISTS, CacheConfig.COURSE_PAGES}, allEntries = true)
+    })
     public String update(@PathVariable Long id, @ModelAttribute Category category, RedirectAttributes redirectAttributes) {
         category.setId(id);
         repo.save(category);
+        catalogVersion.bumpAfterCommit();
         redirectAttributes.addFlashAttribute("success", "Category updated successfully!");
         return "redirect:/admin/categories";
     }
 
     @GetMapping("/delete/{id}")
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.COURSES, allEntries = true),
+            @CacheEvict(cacheNames = {CacheConfig.COURSE_LISTS, CacheConfig.COURSE_PAGES}, allEntries = true)
+    })
     public String delete(@PathVariable Long id, RedirectAttributes redirectAttributes) {
         try {
             repo.deleteById(id);
+            catalogVersion.bumpAfterCommit();
             redirectAttributes.addFlashAttribute("success", "Category deleted successfully!");
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", "Cannot delete category. It may have associated courses.");
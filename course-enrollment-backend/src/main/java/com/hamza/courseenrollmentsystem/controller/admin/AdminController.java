@@ -36,6 +36,12 @@ public class AdminController {
         return "admin/admin_home";
     }
 
+    // Endpoint latency, JDBC pool and cache metrics; the page polls /admin/metrics/stats
+    @GetMapping("/admin/metrics")
+    public String metrics() {
+        return "admin/metrics";
+    }
+
     private void addDashboardStats(Model model) {
         model.addAttribute("categoryCount", categoryRepository.count());
         model.addAttribute("courseCount", courseRepository.count());
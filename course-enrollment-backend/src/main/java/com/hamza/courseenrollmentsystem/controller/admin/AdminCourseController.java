@@ -1,14 +1,26 @@
 package com.hamza.courseenrollmentsystem.controller.admin;
 
+import com.hamza.courseenrollmentsystem.config.CacheConfig;
+import com.hamza.courseenrollmentsystem.dto.CursorPage;
 import com.hamza.courseenrollmentsystem.entity.Course;
 import com.hamza.courseenrollmentsystem.repository.CategoryRepository;
 import com.hamza.courseenrollmentsystem.repository.CourseRepository;
+import com.hamza.courseenrollmentsystem.repository.EnrollmentRepository;
+import com.hamza.courseenrollmentsystem.service.CatalogVersion;
+import com.hamza.courseenrollmentsystem.service.SeatReservationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Controller
 @RequestMapping("/admin/courses")
 public class AdminCourseController {
@@ -19,6 +31,15 @@ public class AdminCourseController {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private SeatReservationService seatReservationService;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
 
     @GetMapping("/test")
     public @ResponseBody String test() {
@@ -26,15 +47,29 @@ public class AdminCourseController {
     }
 
     @GetMapping
-    public String list(Model model) {
-        System.out.println("AdminCourseController.list() called");
-        var courses = courseRepository.findAll();
-        System.out.println("Found " + courses.size() + " courses");
-        model.addAttribute("courses", courses);
-        System.out.println("Returning view: admin/courses");
+    public String list(@RequestParam(required = false) String cursor, Model model) {
+        int limit = CursorPage.DEFAULT_LIMIT;
+        var rows = courseRepository.findPageAfter(CursorPage.decodeCursor(cursor), Limit.of(limit + 1));
+        CursorPage<Course> page = CursorPage.fromRows(rows, limit, Course::getId);
+        model.addAttribute("courses", page.getItems());
+        model.addAttribute("enrollmentCounts", countEnrollments(page.getItems()));
+        model.addAttribute("cursor", cursor);
+        model.addAttribute("nextCursor", page.getNextCursor());
         return "admin/courses";
     }
 
+    // Enrollment count per course on the page from one grouped query instead of loading each collection
+    private Map<Long, Long> countEnrollments(List<Course> courses) {
+        Map<Long, Long> counts = new HashMap<>();
+        if (courses.isEmpty()) {
+            return counts;
+        }
+        List<Long> courseIds = courses.stream().map(Course::getId).toList();
+        enrollmentRepository.countByCourseIds(courseIds)
+                .forEach(row -> counts.put(row.getCourseId(), row.getEnrollmentCount()));
+        return counts;
+    }
+
     @GetMapping("/add")
     public String addForm(Model model) {
         model.addAttribute("course", new Course());
@@ -44,6 +79,7 @@ public class AdminCourseController {
     }
 
     @PostMapping("/add")
+    @CacheEvict(cacheNames = {CacheConfig.COURSE_LISTS, CacheConfig.COURSE_PAGES}, allEntries = true)
     public String save(@ModelAttribute Course course,
                       @RequestParam Long categoryId,
                       Model model,
@@ -55,6 +91,7 @@ public class AdminCourseController {
         }
         course.setCategory(category);
         courseRepository.save(course);
+        catalogVersion.bumpAfterCommit();
         model.addAttribute("courseTitle", course.getTitle());
         model.addAttribute("categoryName", category.getName());
         return "admin/course_success";
@@ -74,6 +111,10 @@ public class AdminCourseController {
     }
 
     @PostMapping("/edit/{id}")
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.COURSES, key = "#id"),
+            @CacheEvict(cacheNames = {CacheConfig.COURSE_LISTS, CacheConfig.COURSE_PAGES}, allEntries = true)
+    })
     public String update(@PathVariable Long id,
                         @ModelAttribute Course course,
                         @RequestParam Long categoryId,
@@ -86,14 +127,22 @@ public class AdminCourseController {
         course.setId(id);
         course.setCategory(category);
         courseRepository.save(course);
+        seatReservationService.updateCapacity(id, course.getCapacity());
+        catalogVersion.bumpAfterCommit();
         redirectAttributes.addFlashAttribute("success", "Course updated successfully!");
         return "redirect:/admin/courses";
     }
 
     @GetMapping("/delete/{id}")
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.COURSES, key = "#id"),
+            @CacheEvict(cacheNames = {CacheConfig.COURSE_LISTS, CacheConfig.COURSE_PAGES}, allEntries = true)
+    })
     public String delete(@PathVariable Long id, RedirectAttributes redirectAttributes) {
         try {
             courseRepository.deleteById(id);
+            seatReservationService.removeCourse(id);
+            catalogVersion.bumpAfterCommit();
             redirectAttributes.addFlashAttribute("success", "Course deleted successfully!");
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", "Cannot delete course. It may have enrollments or feedback.");
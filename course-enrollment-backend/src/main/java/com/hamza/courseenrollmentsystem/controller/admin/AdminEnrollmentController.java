@@ -0,0 +1,52 @@
+package com.hamza.courseenrollmentsystem.controller.admin;
+
+import com.hamza.courseenrollmentsystem.dto.BulkEnrollmentRequest;
+import com.hamza.courseenrollmentsystem.dto.BulkEnrollmentResultDto;
+import com.hamza.courseenrollmentsystem.service.EnrollmentService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/enrollments")
+public class AdminEnrollmentController {
+
+    private final EnrollmentService enrollmentService;
+
+    public AdminEnrollmentController(EnrollmentService enrollmentService) {
+        this.enrollmentService = enrollmentService;
+    }
+
+    /**
+     * POST /admin/enrollments/bulk
+     * Enroll a cohort: {"pairs": [{"studentId": 1, "courseId": 2}, ...]} and/or {"courseId": 2, "studentIds": [1, 3, ...]}.
+     * Returns one result per requested pair, in request order
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<Map<String, Object>> bulkEnroll(@Valid @RequestBody BulkEnrollmentRequest request) {
+        try {
+            List<BulkEnrollmentResultDto> results = enrollmentService.enrollAll(request.toPairs());
+            long enrolled = results.stream().filter(BulkEnrollmentResultDto::isSuccess).count();
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", enrolled + " of " + results.size() + " enrollments created");
+            response.put("enrolled", enrolled);
+            response.put("failed", results.size() - enrolled);
+            response.put("results", results);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+}
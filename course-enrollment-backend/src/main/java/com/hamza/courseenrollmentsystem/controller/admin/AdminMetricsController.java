@@ -0,0 +1,52 @@
+package com.hamza.courseenrollmentsystem.controller.admin;
+
+import com.hamza.courseenrollmentsystem.service.LiveUpdateService;
+import com.hamza.courseenrollmentsystem.service.PasswordHashingService;
+import com.hamza.courseenrollmentsystem.service.RatingWriteBehindService;
+import com.hamza.courseenrollmentsystem.service.RequestMetricsService;
+import com.hamza.courseenrollmentsystem.service.ResourceStatsService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/metrics")
+public class AdminMetricsController {
+
+    private final RequestMetricsService requestMetricsService;
+    private final ResourceStatsService resourceStatsService;
+    private final PasswordHashingService passwordHashingService;
+    private final LiveUpdateService liveUpdateService;
+    private final RatingWriteBehindService ratingWriteBehindService;
+
+    public AdminMetricsController(RequestMetricsService requestMetricsService,
+                                  ResourceStatsService resourceStatsService,
+                                  PasswordHashingService passwordHashingService,
+                                  LiveUpdateService liveUpdateService,
+                                  RatingWriteBehindService ratingWriteBehindService) {
+        this.requestMetricsService = requestMetricsService;
+        this.resourceStatsService = resourceStatsService;
+        this.passwordHashingService = passwordHashingService;
+        this.liveUpdateService = liveUpdateService;
+        this.ratingWriteBehindService = ratingWriteBehindService;
+    }
+
+    /**
+     * GET /admin/metrics/stats
+     * Per-endpoint latency, throughput and errors, JDBC pool, cache, password hashing, live update and rating write-behind stats
+     */
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("endpoints", requestMetricsService.getStats());
+        response.put("jdbcPools", resourceStatsService.getJdbcPoolStats());
+        response.put("caches", resourceStatsService.getCacheStats());
+        response.put("passwordHashing", passwordHashingService.getStats());
+        response.put("liveUpdates", liveUpdateService.getStats());
+        response.put("ratingWriteBehind", ratingWriteBehindService.getStats());
+        return response;
+    }
+}
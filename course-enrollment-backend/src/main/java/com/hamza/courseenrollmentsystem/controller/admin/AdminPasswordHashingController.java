@@ -0,0 +1,28 @@
+package com.hamza.courseenrollmentsystem.controller.admin;
+
+import com.hamza.courseenrollmentsystem.service.PasswordHashingService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/password-hashing")
+public class AdminPasswordHashingController {
+
+    private final PasswordHashingService passwordHashingService;
+
+    public AdminPasswordHashingController(PasswordHashingService passwordHashingService) {
+        this.passwordHashingService = passwordHashingService;
+    }
+
+    /**
+     * GET /admin/password-hashing/stats
+     * Pool size, queue depth, rejections and BCrypt latency, for sizing the hashing pool
+     */
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        return passwordHashingService.getStats();
+    }
+}
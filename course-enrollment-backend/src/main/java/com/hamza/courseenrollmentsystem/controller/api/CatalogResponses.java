@@ -0,0 +1,65 @@
+package com.hamza.courseenrollmentsystem.controller.api;
+
+import com.hamza.courseenrollmentsystem.dto.CursorPage;
+import com.hamza.courseenrollmentsystem.service.CatalogSnapshotService;
+import com.hamza.courseenrollmentsystem.service.CatalogVersion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Conditional and pre-serialized responses shared by the catalog GET endpoints
+ */
+final class CatalogResponses {
+
+    private CatalogResponses() {
+    }
+
+    // A gzip body is a different representation, so it gets its own strong ETag
+    static String gzipETag(String eTag) {
+        return eTag.substring(0, eTag.length() - 1) + "-gzip\"";
+    }
+
+    static boolean isNotModified(String ifNoneMatch, String eTag) {
+        return CatalogVersion.matches(ifNoneMatch, eTag) || CatalogVersion.matches(ifNoneMatch, gzipETag(eTag));
+    }
+
+    // A 304 carries the same validators as the 200 it stands for
+    static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(CacheControl.noCache()).build();
+    }
+
+    // The snapshot bytes are written as they are; only headers are built per request
+    static ResponseEntity<byte[]> snapshot(CatalogSnapshotService.SerializedPage page, String eTag, String acceptEncoding) {
+        boolean gzip = page.getGzip() != null && acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(gzip ? gzipETag(eTag) : eTag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (page.getNextCursor() != null) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return response.body(page.getGzip());
+        }
+        return response.body(page.getJson());
+    }
+
+    // gzip listed without q=0
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
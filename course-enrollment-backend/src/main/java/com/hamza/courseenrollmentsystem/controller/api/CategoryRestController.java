@@ -1,14 +1,18 @@
 package com.hamza.courseenrollmentsystem.controller.api;
 
 import com.hamza.courseenrollmentsystem.dto.CategoryDto;
+import com.hamza.courseenrollmentsystem.dto.CursorPage;
+import com.hamza.courseenrollmentsystem.service.CatalogSnapshotService;
+import com.hamza.courseenrollmentsystem.service.CatalogVersion;
 import com.hamza.courseenrollmentsystem.service.CategoryService;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -17,15 +21,47 @@ import java.util.Map;
 public class CategoryRestController {
 
     private final CategoryService categoryService;
+    private final CatalogVersion catalogVersion;
+    private final CatalogSnapshotService catalogSnapshotService;
 
-    public CategoryRestController(CategoryService categoryService) {
+    public CategoryRestController(CategoryService categoryService, CatalogVersion catalogVersion,
+                                  CatalogSnapshotService catalogSnapshotService) {
         this.categoryService = categoryService;
+        this.catalogVersion = catalogVersion;
+        this.catalogSnapshotService = catalogSnapshotService;
     }
 
+    /**
+     * GET /api/categories?cursor=...&limit=...
+     * One page of categories ordered by id; the next page's cursor is returned in the X-Next-Cursor header.
+     * Tagged with the catalog ETag; a matching If-None-Match is answered 304 without loading the page.
+     * Default-size pages are served from the pre-serialized catalog snapshot
+     */
     @GetMapping
-    public ResponseEntity<List<CategoryDto>> getAllCategories() {
-        List<CategoryDto> categories = categoryService.findAll();
-        return ResponseEntity.ok(categories);
+    public ResponseEntity<?> getAllCategories(@RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) Integer limit,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                              @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        // Taken before the data is read, see CatalogVersion
+        String eTag = catalogVersion.getETag();
+        if (CatalogResponses.isNotModified(ifNoneMatch, eTag)) {
+            return CatalogResponses.notModified(eTag);
+        }
+        long afterId = CursorPage.decodeCursor(cursor);
+        int pageLimit = CursorPage.resolveLimit(limit);
+        if (pageLimit == CursorPage.DEFAULT_LIMIT) {
+            CatalogSnapshotService.Snapshot snapshot = catalogSnapshotService.getSnapshot();
+            CatalogSnapshotService.SerializedPage page = snapshot.getCategoryPage(afterId);
+            if (page != null) {
+                return CatalogResponses.snapshot(page, snapshot.getETag(), acceptEncoding);
+            }
+        }
+        CursorPage<CategoryDto> page = categoryService.findPage(afterId, pageLimit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache());
+        if (page.hasNext()) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
     }
 
     @GetMapping("/{id}")
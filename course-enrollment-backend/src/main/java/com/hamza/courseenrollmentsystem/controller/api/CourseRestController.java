@@ -1,14 +1,18 @@
 package com.hamza.courseenrollmentsystem.controller.api;
 
 import com.hamza.courseenrollmentsystem.dto.CourseDto;
+import com.hamza.courseenrollmentsystem.dto.CursorPage;
+import com.hamza.courseenrollmentsystem.service.CatalogSnapshotService;
+import com.hamza.courseenrollmentsystem.service.CatalogVersion;
 import com.hamza.courseenrollmentsystem.service.CourseService;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -16,16 +20,59 @@ import java.util.Map;
 @CrossOrigin(origins = "https://course-enrollment-frontend-c9mr.onrender.com", allowCredentials = "true")
 public class CourseRestController {
 
+    // Longest accepted search term
+    private static final int MAX_QUERY_LENGTH = 100;
+
     private final CourseService courseService;
+    private final CatalogVersion catalogVersion;
+    private final CatalogSnapshotService catalogSnapshotService;
 
-    public CourseRestController(CourseService courseService) {
+    public CourseRestController(CourseService courseService, CatalogVersion catalogVersion,
+                                CatalogSnapshotService catalogSnapshotService) {
         this.courseService = courseService;
+        this.catalogVersion = catalogVersion;
+        this.catalogSnapshotService = catalogSnapshotService;
     }
 
+    /**
+     * GET /api/courses?cursor=...&limit=...&q=...
+     * One page of courses ordered by id; the next page's cursor is returned in the X-Next-Cursor header.
+     * With q, only courses whose title or description contains q (ignoring case), paged the same way.
+     * Tagged with the catalog ETag; a matching If-None-Match is answered 304 without loading the page.
+     * Default-size pages are served from the pre-serialized catalog snapshot
+     */
     @GetMapping
-    public ResponseEntity<List<CourseDto>> getAllCourses() {
-        List<CourseDto> courses = courseService.findAll();
-        return ResponseEntity.ok(courses);
+    public ResponseEntity<?> getAllCourses(@RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false) Integer limit,
+                                           @RequestParam(required = false) String q,
+                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        // Taken before the data is read, see CatalogVersion
+        String eTag = catalogVersion.getETag();
+        if (CatalogResponses.isNotModified(ifNoneMatch, eTag)) {
+            return CatalogResponses.notModified(eTag);
+        }
+        long afterId = CursorPage.decodeCursor(cursor);
+        int pageLimit = CursorPage.resolveLimit(limit);
+        String query = q != null ? q.strip() : "";
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search term is longer than " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (query.isEmpty() && pageLimit == CursorPage.DEFAULT_LIMIT) {
+            CatalogSnapshotService.Snapshot snapshot = catalogSnapshotService.getSnapshot();
+            CatalogSnapshotService.SerializedPage page = snapshot.getCoursePage(afterId);
+            if (page != null) {
+                return CatalogResponses.snapshot(page, snapshot.getETag(), acceptEncoding);
+            }
+        }
+        CursorPage<CourseDto> page = query.isEmpty()
+                ? courseService.findPage(afterId, pageLimit)
+                : courseService.search(query, afterId, pageLimit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache());
+        if (page.hasNext()) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
     }
 
     @GetMapping("/{id}")
@@ -38,10 +85,20 @@ public class CourseRestController {
         }
     }
 
+    /**
+     * GET /api/courses/category/{categoryId}
+     * Courses of one category from the catalog snapshot, tagged with the catalog ETag like the course list
+     */
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<List<CourseDto>> getCoursesByCategory(@PathVariable Long categoryId) {
-        List<CourseDto> courses = courseService.findByCategoryId(categoryId);
-        return ResponseEntity.ok(courses);
+    public ResponseEntity<?> getCoursesByCategory(@PathVariable Long categoryId,
+                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                  @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        String eTag = catalogVersion.getETag();
+        if (CatalogResponses.isNotModified(ifNoneMatch, eTag)) {
+            return CatalogResponses.notModified(eTag);
+        }
+        CatalogSnapshotService.Snapshot snapshot = catalogSnapshotService.getSnapshot();
+        return CatalogResponses.snapshot(snapshot.getCoursesOfCategory(categoryId), snapshot.getETag(), acceptEncoding);
     }
 
     @PostMapping
@@ -96,4 +153,3 @@ public class CourseRestController {
         }
     }
 }
-
@@ -0,0 +1,48 @@
+package com.hamza.courseenrollmentsystem.controller.api;
+
+import com.hamza.courseenrollmentsystem.service.LiveUpdateService;
+import com.hamza.courseenrollmentsystem.service.RatingService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/courses")
+@CrossOrigin(origins = "https://course-enrollment-frontend-c9mr.onrender.com", allowCredentials = "true")
+public class LiveUpdateController {
+
+    private final LiveUpdateService liveUpdateService;
+
+    public LiveUpdateController(LiveUpdateService liveUpdateService) {
+        this.liveUpdateService = liveUpdateService;
+    }
+
+    /**
+     * GET /api/courses/updates?ids=1,2,3&events=rating
+     * Server-Sent Events stream of "rating" and "enrollment" updates for the given courses,
+     * or for every course without ids; events limits the stream to some of the two types.
+     * A "resync" event means updates were dropped and the client should refetch.
+     */
+    @GetMapping(value = "/updates", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribe(@RequestParam(required = false) List<Long> ids,
+                                                @RequestParam(required = false) List<String> events) {
+        Set<Long> courseIds = ids != null ? new HashSet<>(ids) : Set.of();
+        Set<String> eventTypes = events != null ? new HashSet<>(events) : Set.of();
+        if (courseIds.size() > RatingService.MAX_BATCH_SIZE
+                || !LiveUpdateService.EVENT_TYPES.containsAll(eventTypes)) {
+            return ResponseEntity.badRequest().build();
+        }
+        SseEmitter emitter = liveUpdateService.subscribe(courseIds, eventTypes);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        // Proxies such as nginx must not buffer the stream
+        return ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter);
+    }
+}
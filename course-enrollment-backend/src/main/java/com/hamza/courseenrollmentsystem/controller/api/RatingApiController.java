@@ -1,7 +1,9 @@
 package com.hamza.courseenrollmentsystem.controller.api;
 
 import com.hamza.courseenrollmentsystem.dto.AverageRatingDto;
+import com.hamza.courseenrollmentsystem.dto.CourseRatingDto;
 import com.hamza.courseenrollmentsystem.dto.RatingDto;
+import com.hamza.courseenrollmentsystem.exception.RatingBufferFullException;
 import com.hamza.courseenrollmentsystem.service.RatingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,6 +13,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/courses")
 @CrossOrigin(
@@ -41,6 +46,24 @@ public class RatingApiController {
         }
     }
 
+    /**
+     * GET /api/courses/ratings/avg?ids=1,2,3
+     * Get average rating and rating count for several courses at once.
+     * Without ids, returns every rated course in the catalog.
+     */
+    @GetMapping("/ratings/avg")
+    public ResponseEntity<?> getAverageRatings(@RequestParam(required = false) List<Long> ids) {
+        try {
+            Map<Long, CourseRatingDto> result = ratingService.getAverageRatings(ids);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error: " + e.getMessage());
+        }
+    }
+
     /**
      * GET /api/courses/{id}/rating/me
      * Get current user's rating for a course
@@ -71,10 +94,10 @@ public class RatingApiController {
             @RequestBody RatingDto ratingDto,
             Authentication authentication) {
         try {
-            logger.info("Rating request received for course ID: {}", id);
-            logger.info("Authentication object: {}", authentication);
-            logger.info("Authentication name: {}", authentication != null ? authentication.getName() : "null");
-            logger.info("Is authenticated: {}", authentication != null ? authentication.isAuthenticated() : "false");
+            logger.debug("Rating request received for course ID: {}", id);
+            logger.debug("Authentication object: {}", authentication);
+            logger.debug("Authentication name: {}", authentication != null ? authentication.getName() : "null");
+            logger.debug("Is authenticated: {}", authentication != null ? authentication.isAuthenticated() : "false");
 
             if (authentication == null || authentication.getName() == null) {
                 logger.error("Authentication failed - authentication is null or name is null");
@@ -88,14 +111,17 @@ public class RatingApiController {
             }
 
             String userEmail = authentication.getName();
-            logger.info("Processing rating for user: {}, course: {}, rating: {}", userEmail, id, ratingDto.getRating());
+            logger.debug("Processing rating for user: {}, course: {}, rating: {}", userEmail, id, ratingDto.getRating());
 
             RatingDto result = ratingService.saveRating(id, userEmail, ratingDto.getRating());
-            logger.info("Rating saved successfully");
+            logger.debug("Rating saved successfully");
             return ResponseEntity.ok(result);
         } catch (IllegalArgumentException e) {
             logger.error("Invalid argument: {}", e.getMessage());
             return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RatingBufferFullException e) {
+            // Answered with 503 and Retry-After by GlobalExceptionHandler
+            throw e;
         } catch (RuntimeException e) {
             logger.error("Runtime exception: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
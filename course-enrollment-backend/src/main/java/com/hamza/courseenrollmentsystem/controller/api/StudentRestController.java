@@ -1,21 +1,21 @@
 package com.hamza.courseenrollmentsystem.controller.api;
 
-import com.hamza.courseenrollmentsystem.dto.CourseDto;
-import com.hamza.courseenrollmentsystem.entity.Course;
-import com.hamza.courseenrollmentsystem.entity.Enrollment;
+import com.hamza.courseenrollmentsystem.dto.CursorPage;
+import com.hamza.courseenrollmentsystem.dto.EnrolledCourseDto;
 import com.hamza.courseenrollmentsystem.entity.User;
-import com.hamza.courseenrollmentsystem.repository.CourseRepository;
+import com.hamza.courseenrollmentsystem.exception.AlreadyEnrolledException;
+import com.hamza.courseenrollmentsystem.exception.CourseFullException;
 import com.hamza.courseenrollmentsystem.repository.EnrollmentRepository;
 import com.hamza.courseenrollmentsystem.repository.UserRepository;
+import com.hamza.courseenrollmentsystem.service.EnrollmentService;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/students")
@@ -23,15 +23,15 @@ import java.util.stream.Collectors;
 public class StudentRestController {
 
     private final UserRepository userRepository;
-    private final CourseRepository courseRepository;
     private final EnrollmentRepository enrollmentRepository;
+    private final EnrollmentService enrollmentService;
 
     public StudentRestController(UserRepository userRepository,
-                                  CourseRepository courseRepository,
-                                  EnrollmentRepository enrollmentRepository) {
+                                  EnrollmentRepository enrollmentRepository,
+                                  EnrollmentService enrollmentService) {
         this.userRepository = userRepository;
-        this.courseRepository = courseRepository;
         this.enrollmentRepository = enrollmentRepository;
+        this.enrollmentService = enrollmentService;
     }
 
     @GetMapping("/{studentId}")
@@ -52,30 +52,28 @@ public class StudentRestController {
         }
     }
 
+    /**
+     * GET /api/students/{studentId}/courses?cursor=...&limit=...
+     * One page of the student's courses ordered by course id; the next page's cursor is returned in the X-Next-Cursor header
+     */
     @GetMapping("/{studentId}/courses")
-    public ResponseEntity<List<CourseDto>> getStudentCourses(@PathVariable Long studentId) {
-        try {
-            User student = userRepository.findById(studentId)
-                    .orElseThrow(() -> new RuntimeException("Student not found"));
+    public ResponseEntity<List<EnrolledCourseDto>> getStudentCourses(@PathVariable Long studentId,
+                                                                     @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(required = false) Integer limit) {
+        if (!userRepository.existsById(studentId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
 
-            List<CourseDto> enrolledCourses = student.getEnrollments().stream()
-                    .map(enrollment -> {
-                        Course course = enrollment.getCourse();
-                        CourseDto dto = new CourseDto();
-                        dto.setId(course.getId());
-                        dto.setTitle(course.getTitle());
-                        dto.setDescription(course.getDescription());
-                        dto.setInstructorApiId(course.getInstructorApiId());
-                        dto.setCategoryId(course.getCategory().getId());
-                        dto.setCategoryName(course.getCategory().getName());
-                        return dto;
-                    })
-                    .collect(Collectors.toList());
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<EnrolledCourseDto> rows = enrollmentRepository
+                .findCoursePageByUserId(studentId, CursorPage.decodeCursor(cursor), Limit.of(pageSize + 1));
 
-            return ResponseEntity.ok(enrolledCourses);
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        CursorPage<EnrolledCourseDto> page = CursorPage.fromRows(rows, pageSize, EnrolledCourseDto::getId);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, page.getNextCursor());
         }
+        return response.body(page.getItems());
     }
 
     @PostMapping("/{studentId}/enroll/{courseId}")
@@ -83,34 +81,17 @@ public class StudentRestController {
             @PathVariable Long studentId,
             @PathVariable Long courseId) {
         try {
-            User student = userRepository.findById(studentId)
-                    .orElseThrow(() -> new RuntimeException("Student not found"));
-
-            Course course = courseRepository.findById(courseId)
-                    .orElseThrow(() -> new RuntimeException("Course not found"));
-
-            // Check if already enrolled
-            boolean alreadyEnrolled = student.getEnrollments().stream()
-                    .anyMatch(e -> e.getCourse().getId().equals(courseId));
-
-            if (alreadyEnrolled) {
-                Map<String, Object> response = new HashMap<>();
-                response.put("success", false);
-                response.put("message", "Already enrolled in this course");
-                return ResponseEntity.badRequest().body(response);
-            }
-
-            // Create new enrollment
-            Enrollment enrollment = new Enrollment();
-            enrollment.setUser(student);
-            enrollment.setCourse(course);
-            enrollment.setEnrollmentDate(LocalDateTime.now());
-            enrollmentRepository.save(enrollment);
+            enrollmentService.enroll(studentId, courseId);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Successfully enrolled in course");
             return ResponseEntity.ok(response);
+        } catch (AlreadyEnrolledException | CourseFullException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
         } catch (RuntimeException e) {
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
@@ -124,15 +105,7 @@ public class StudentRestController {
             @PathVariable Long studentId,
             @PathVariable Long courseId) {
         try {
-            User student = userRepository.findById(studentId)
-                    .orElseThrow(() -> new RuntimeException("Student not found"));
-
-            Enrollment enrollment = student.getEnrollments().stream()
-                    .filter(e -> e.getCourse().getId().equals(courseId))
-                    .findFirst()
-                    .orElseThrow(() -> new RuntimeException("Not enrolled in this course"));
-
-            enrollmentRepository.delete(enrollment);
+            enrollmentService.unenroll(studentId, courseId);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -146,4 +119,3 @@ public class StudentRestController {
         }
     }
 }
-
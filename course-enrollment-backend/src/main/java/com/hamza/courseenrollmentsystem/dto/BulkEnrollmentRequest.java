@@ -0,0 +1,67 @@
+package com.hamza.courseenrollmentsystem.dto;
+
+import jakarta.validation.Valid;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Body of a bulk enrollment: explicit student/course pairs, a list of students for one course, or both
+ */
+public class BulkEnrollmentRequest {
+    @Valid
+    private List<EnrollmentPairDto> pairs;
+
+    private Long courseId;
+
+    private List<Long> studentIds;
+
+    public BulkEnrollmentRequest() {}
+
+    public BulkEnrollmentRequest(List<EnrollmentPairDto> pairs, Long courseId, List<Long> studentIds) {
+        this.pairs = pairs;
+        this.courseId = courseId;
+        this.studentIds = studentIds;
+    }
+
+    // All requested pairs in request order, explicit pairs first
+    public List<EnrollmentPairDto> toPairs() {
+        List<EnrollmentPairDto> all = new ArrayList<>();
+        if (pairs != null) {
+            all.addAll(pairs);
+        }
+        if (studentIds != null && !studentIds.isEmpty()) {
+            if (courseId == null) {
+                throw new IllegalArgumentException("courseId is required with studentIds");
+            }
+            for (Long studentId : studentIds) {
+                all.add(new EnrollmentPairDto(studentId, courseId));
+            }
+        }
+        return all;
+    }
+
+    public List<EnrollmentPairDto> getPairs() {
+        return pairs;
+    }
+
+    public void setPairs(List<EnrollmentPairDto> pairs) {
+        this.pairs = pairs;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public List<Long> getStudentIds() {
+        return studentIds;
+    }
+
+    public void setStudentIds(List<Long> studentIds) {
+        this.studentIds = studentIds;
+    }
+}
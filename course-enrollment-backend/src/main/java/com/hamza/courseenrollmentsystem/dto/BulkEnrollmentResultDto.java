@@ -0,0 +1,49 @@
+package com.hamza.courseenrollmentsystem.dto;
+
+public class BulkEnrollmentResultDto {
+    private Long studentId;
+    private Long courseId;
+    private boolean success;
+    private String message;
+
+    public BulkEnrollmentResultDto() {}
+
+    public BulkEnrollmentResultDto(Long studentId, Long courseId, boolean success, String message) {
+        this.studentId = studentId;
+        this.courseId = courseId;
+        this.success = success;
+        this.message = message;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -23,6 +23,11 @@ public class CategoryDto {
         this.courseCount = courseCount;
     }
 
+    // Used by the grouped count projection in CategoryRepository
+    public CategoryDto(Long id, String name, Long courseCount) {
+        this(id, name, courseCount != null ? courseCount.intValue() : 0);
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
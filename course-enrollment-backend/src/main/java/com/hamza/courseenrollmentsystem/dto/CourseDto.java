@@ -2,6 +2,7 @@ package com.hamza.courseenrollmentsystem.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 
 public class CourseDto {
     private Long id;
@@ -18,6 +19,9 @@ public class CourseDto {
 
     private String categoryName;
 
+    @Positive(message = "Capacity must be positive")
+    private Integer capacity;
+
     public CourseDto() {}
 
     public CourseDto(Long id, String title, String description, String instructorApiId, Long categoryId, String categoryName) {
@@ -29,6 +33,11 @@ public class CourseDto {
         this.categoryName = categoryName;
     }
 
+    public CourseDto(Long id, String title, String description, String instructorApiId, Long categoryId, String categoryName, Integer capacity) {
+        this(id, title, description, instructorApiId, categoryId, categoryName);
+        this.capacity = capacity;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -77,5 +86,12 @@ public class CourseDto {
     public void setCategoryName(String categoryName) {
         this.categoryName = categoryName;
     }
-}
 
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+}
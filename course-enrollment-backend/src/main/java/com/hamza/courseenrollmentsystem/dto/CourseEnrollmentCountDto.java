@@ -0,0 +1,29 @@
+package com.hamza.courseenrollmentsystem.dto;
+
+public class CourseEnrollmentCountDto {
+    private Long courseId;
+    private Long enrollmentCount;
+
+    public CourseEnrollmentCountDto() {}
+
+    public CourseEnrollmentCountDto(Long courseId, Long enrollmentCount) {
+        this.courseId = courseId;
+        this.enrollmentCount = enrollmentCount;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Long getEnrollmentCount() {
+        return enrollmentCount;
+    }
+
+    public void setEnrollmentCount(Long enrollmentCount) {
+        this.enrollmentCount = enrollmentCount;
+    }
+}
@@ -0,0 +1,39 @@
+package com.hamza.courseenrollmentsystem.dto;
+
+public class CourseRatingDto {
+    private Long courseId;
+    private Double averageRating;
+    private Long ratingCount;
+
+    public CourseRatingDto() {}
+
+    public CourseRatingDto(Long courseId, Double averageRating, Long ratingCount) {
+        this.courseId = courseId;
+        this.averageRating = averageRating;
+        this.ratingCount = ratingCount;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Double getAverageRating() {
+        return averageRating;
+    }
+
+    public void setAverageRating(Double averageRating) {
+        this.averageRating = averageRating;
+    }
+
+    public Long getRatingCount() {
+        return ratingCount;
+    }
+
+    public void setRatingCount(Long ratingCount) {
+        this.ratingCount = ratingCount;
+    }
+}
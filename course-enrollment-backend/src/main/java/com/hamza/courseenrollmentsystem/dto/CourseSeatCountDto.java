@@ -0,0 +1,39 @@
+package com.hamza.courseenrollmentsystem.dto;
+
+public class CourseSeatCountDto {
+    private Long courseId;
+    private Integer capacity;
+    private Long enrolledCount;
+
+    public CourseSeatCountDto() {}
+
+    public CourseSeatCountDto(Long courseId, Integer capacity, Long enrolledCount) {
+        this.courseId = courseId;
+        this.capacity = capacity;
+        this.enrolledCount = enrolledCount;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
+    public Long getEnrolledCount() {
+        return enrolledCount;
+    }
+
+    public void setEnrolledCount(Long enrolledCount) {
+        this.enrolledCount = enrolledCount;
+    }
+}
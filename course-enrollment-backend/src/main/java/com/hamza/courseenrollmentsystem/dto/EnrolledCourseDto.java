@@ -0,0 +1,23 @@
+package com.hamza.courseenrollmentsystem.dto;
+
+import java.time.LocalDateTime;
+
+public class EnrolledCourseDto extends CourseDto {
+    private LocalDateTime enrollmentDate;
+
+    public EnrolledCourseDto() {}
+
+    public EnrolledCourseDto(Long id, String title, String description, String instructorApiId,
+                             Long categoryId, String categoryName, LocalDateTime enrollmentDate) {
+        super(id, title, description, instructorApiId, categoryId, categoryName);
+        this.enrollmentDate = enrollmentDate;
+    }
+
+    public LocalDateTime getEnrollmentDate() {
+        return enrollmentDate;
+    }
+
+    public void setEnrollmentDate(LocalDateTime enrollmentDate) {
+        this.enrollmentDate = enrollmentDate;
+    }
+}
@@ -0,0 +1,48 @@
+package com.hamza.courseenrollmentsystem.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Objects;
+
+public class EnrollmentPairDto {
+    @NotNull(message = "Student ID is required")
+    private Long studentId;
+
+    @NotNull(message = "Course ID is required")
+    private Long courseId;
+
+    public EnrollmentPairDto() {}
+
+    public EnrollmentPairDto(Long studentId, Long courseId) {
+        this.studentId = studentId;
+        this.courseId = courseId;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EnrollmentPairDto that)) return false;
+        return Objects.equals(studentId, that.studentId) && Objects.equals(courseId, that.courseId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(studentId, courseId);
+    }
+}
@@ -0,0 +1,43 @@
+package com.hamza.courseenrollmentsystem.dto;
+
+/**
+ * The parts of a user needed to act on its behalf: id and role, looked up by email.
+ * Cached per email, so it never carries the password hash.
+ */
+public class UserIdentityDto {
+    private Long id;
+    private String email;
+    private String role;
+
+    public UserIdentityDto() {}
+
+    public UserIdentityDto(Long id, String email, String role) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+}
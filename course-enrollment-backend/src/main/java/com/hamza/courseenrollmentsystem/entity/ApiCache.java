@@ -8,7 +8,10 @@ import java.time.LocalDateTime;
 public class ApiCache {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "api_cache_id")
+    @TableGenerator(name = "api_cache_id", table = IdGeneration.TABLE,
+            pkColumnName = IdGeneration.PK_COLUMN, valueColumnName = IdGeneration.VALUE_COLUMN,
+            pkColumnValue = "api_cache", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     private String apiId;
@@ -8,7 +8,10 @@ import java.util.List;
 public class Course {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "courses_id")
+    @TableGenerator(name = "courses_id", table = IdGeneration.TABLE,
+            pkColumnName = IdGeneration.PK_COLUMN, valueColumnName = IdGeneration.VALUE_COLUMN,
+            pkColumnValue = "courses", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     private String title;
@@ -18,6 +21,8 @@ public class Course {
 
     private String instructorApiId; // ID from external API
 
+    private Integer capacity; // Maximum number of enrollments, null for unlimited
+
     @ManyToOne
     @JoinColumn(name = "category_id")
     private Category category;
@@ -37,6 +42,8 @@ public class Course {
     public void setDescription(String description) { this.description = description; }
     public String getInstructorApiId() { return instructorApiId; }
     public void setInstructorApiId(String instructorApiId) { this.instructorApiId = instructorApiId; }
+    public Integer getCapacity() { return capacity; }
+    public void setCapacity(Integer capacity) { this.capacity = capacity; }
     public Category getCategory() { return category; }
     public void setCategory(Category category) { this.category = category; }
     public List<Enrollment> getEnrollments() { return enrollments; }
@@ -0,0 +1,57 @@
+package com.hamza.courseenrollmentsystem.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Running rating aggregates for one course, kept in step with the feedback table
+ * by RatingService so averages can be read without scanning feedback.
+ */
+@Entity
+@Table(name = "course_rating_stats")
+public class CourseRatingStats {
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    private long ratingSum;
+
+    private long ratingCount;
+
+    // Histogram of ratings, one column per star value
+    private long oneStar;
+
+    private long twoStar;
+
+    private long threeStar;
+
+    private long fourStar;
+
+    private long fiveStar;
+
+    public Double getAverageRating() {
+        return ratingCount > 0 ? (double) ratingSum / ratingCount : null;
+    }
+
+    public long[] getHistogram() {
+        return new long[] { oneStar, twoStar, threeStar, fourStar, fiveStar };
+    }
+
+    // Getters and Setters
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+    public long getRatingSum() { return ratingSum; }
+    public void setRatingSum(long ratingSum) { this.ratingSum = ratingSum; }
+    public long getRatingCount() { return ratingCount; }
+    public void setRatingCount(long ratingCount) { this.ratingCount = ratingCount; }
+    public long getOneStar() { return oneStar; }
+    public void setOneStar(long oneStar) { this.oneStar = oneStar; }
+    public long getTwoStar() { return twoStar; }
+    public void setTwoStar(long twoStar) { this.twoStar = twoStar; }
+    public long getThreeStar() { return threeStar; }
+    public void setThreeStar(long threeStar) { this.threeStar = threeStar; }
+    public long getFourStar() { return fourStar; }
+    public void setFourStar(long fourStar) { this.fourStar = fourStar; }
+    public long getFiveStar() { return fiveStar; }
+    public void setFiveStar(long fiveStar) { this.fiveStar = fiveStar; }
+}
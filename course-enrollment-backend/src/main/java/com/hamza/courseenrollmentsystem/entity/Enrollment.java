@@ -8,7 +8,10 @@ import java.time.LocalDateTime;
 public class Enrollment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "enrollments_id")
+    @TableGenerator(name = "enrollments_id", table = IdGeneration.TABLE,
+            pkColumnName = IdGeneration.PK_COLUMN, valueColumnName = IdGeneration.VALUE_COLUMN,
+            pkColumnValue = "enrollments", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     private LocalDateTime enrollmentDate;
@@ -8,7 +8,10 @@ import java.time.LocalDateTime;
 public class Feedback {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "feedback_id")
+    @TableGenerator(name = "feedback_id", table = IdGeneration.TABLE,
+            pkColumnName = IdGeneration.PK_COLUMN, valueColumnName = IdGeneration.VALUE_COLUMN,
+            pkColumnValue = "feedback", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     private Integer rating;
@@ -0,0 +1,23 @@
+package com.hamza.courseenrollmentsystem.entity;
+
+/**
+ * Shared settings for the pooled id generators of all entities.
+ *
+ * Each table has a row in id_generators holding its next id block. Hibernate takes
+ * ALLOCATION_SIZE ids per round trip and hands them out from memory, so new rows carry
+ * their id before the INSERT and inserts can be sent as JDBC batches.
+ */
+public final class IdGeneration {
+
+    public static final String TABLE = "id_generators";
+
+    public static final String PK_COLUMN = "sequence_name";
+
+    public static final String VALUE_COLUMN = "next_val";
+
+    // Ids reserved per round trip to id_generators
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGeneration() {
+    }
+}
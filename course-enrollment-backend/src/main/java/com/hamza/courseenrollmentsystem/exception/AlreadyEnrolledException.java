@@ -0,0 +1,12 @@
+package com.hamza.courseenrollmentsystem.exception;
+
+/**
+ * Thrown when an enrollment insert hits the uk_user_course unique key,
+ * i.e. the student is already enrolled in the course.
+ */
+public class AlreadyEnrolledException extends RuntimeException {
+
+    public AlreadyEnrolledException() {
+        super("Already enrolled in this course");
+    }
+}
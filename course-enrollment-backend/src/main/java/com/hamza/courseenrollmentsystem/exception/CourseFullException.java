@@ -0,0 +1,11 @@
+package com.hamza.courseenrollmentsystem.exception;
+
+/**
+ * Thrown when every seat of a limited-capacity course has been taken.
+ */
+public class CourseFullException extends RuntimeException {
+
+    public CourseFullException() {
+        super("Course is full");
+    }
+}
@@ -0,0 +1,14 @@
+package com.hamza.courseenrollmentsystem.exception;
+
+/**
+ * Thrown when the password hashing pool is saturated and a login or registration cannot be queued.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    // Seconds a client is asked to wait before retrying
+    public static final int RETRY_AFTER_SECONDS = 1;
+
+    public PasswordHashingBusyException() {
+        super("Too many logins in progress, please try again shortly");
+    }
+}
@@ -0,0 +1,14 @@
+package com.hamza.courseenrollmentsystem.exception;
+
+/**
+ * Thrown when the rating write-behind buffer is full because flushes are not keeping up.
+ */
+public class RatingBufferFullException extends RuntimeException {
+
+    // Seconds a client is asked to wait before retrying
+    public static final int RETRY_AFTER_SECONDS = 1;
+
+    public RatingBufferFullException() {
+        super("Too many ratings waiting to be saved, please try again shortly");
+    }
+}
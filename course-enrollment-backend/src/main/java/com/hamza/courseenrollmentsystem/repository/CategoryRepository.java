@@ -1,8 +1,29 @@
 package com.hamza.courseenrollmentsystem.repository;
 
+import com.hamza.courseenrollmentsystem.dto.CategoryDto;
 import com.hamza.courseenrollmentsystem.entity.Category;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
-}
 
+    // Read-model projection: builds CategoryDto rows with their course count in one grouped query
+    String CATEGORY_DTO_SELECT = "SELECT new com.hamza.courseenrollmentsystem.dto.CategoryDto(" +
+            "c.id, c.name, COUNT(co.id)) " +
+            "FROM Category c LEFT JOIN c.courses co ";
+
+    @Query(CATEGORY_DTO_SELECT + "GROUP BY c.id, c.name ORDER BY c.id")
+    List<CategoryDto> findAllDtos();
+
+    @Query(CATEGORY_DTO_SELECT + "WHERE c.id = :id GROUP BY c.id, c.name")
+    Optional<CategoryDto> findDtoById(@Param("id") Long id);
+
+    // Keyset page of categories ordered by id
+    @Query(CATEGORY_DTO_SELECT + "WHERE c.id > :afterId GROUP BY c.id, c.name ORDER BY c.id")
+    List<CategoryDto> findDtoPageAfter(@Param("afterId") long afterId, Limit limit);
+}
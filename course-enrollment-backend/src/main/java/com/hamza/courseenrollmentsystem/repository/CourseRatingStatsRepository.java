@@ -0,0 +1,78 @@
+package com.hamza.courseenrollmentsystem.repository;
+
+import com.hamza.courseenrollmentsystem.entity.CourseRatingStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface CourseRatingStatsRepository extends JpaRepository<CourseRatingStats, Long> {
+
+    // Atomically add deltas to a course's aggregates, creating the row on first rating
+    @Modifying
+    @Query(value = "INSERT INTO course_rating_stats " +
+            "(course_id, rating_sum, rating_count, one_star, two_star, three_star, four_star, five_star) " +
+            "VALUES (:courseId, :sumDelta, :countDelta, :oneStar, :twoStar, :threeStar, :fourStar, :fiveStar) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "rating_sum = rating_sum + VALUES(rating_sum), " +
+            "rating_count = rating_count + VALUES(rating_count), " +
+            "one_star = one_star + VALUES(one_star), " +
+            "two_star = two_star + VALUES(two_star), " +
+            "three_star = three_star + VALUES(three_star), " +
+            "four_star = four_star + VALUES(four_star), " +
+            "five_star = five_star + VALUES(five_star)",
+            nativeQuery = true)
+    void applyDelta(@Param("courseId") Long courseId,
+                    @Param("sumDelta") long sumDelta,
+                    @Param("countDelta") long countDelta,
+                    @Param("oneStar") long oneStar,
+                    @Param("twoStar") long twoStar,
+                    @Param("threeStar") long threeStar,
+                    @Param("fourStar") long fourStar,
+                    @Param("fiveStar") long fiveStar);
+
+    // Courses whose aggregates a rebuild must check: every course with feedback or with a stats row
+    @Query(value = "SELECT course_id FROM feedback UNION SELECT course_id FROM course_rating_stats", nativeQuery = true)
+    List<Long> findCourseIdsToRebuild();
+
+    // Lock a course's feedback rows before its stats row, the order saveRating takes them in
+    @Query(value = "SELECT id FROM feedback WHERE course_id = :courseId FOR UPDATE", nativeQuery = true)
+    List<Long> lockFeedbackOfCourse(@Param("courseId") Long courseId);
+
+    // A course's aggregates recomputed from its feedback rows:
+    // sum, count, then the one- to five-star counts
+    @Query(value = "SELECT COALESCE(SUM(rating), 0), COUNT(rating), " +
+            "COALESCE(SUM(CASE WHEN rating = 1 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN rating = 2 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN rating = 3 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN rating = 4 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN rating = 5 THEN 1 ELSE 0 END), 0) " +
+            "FROM feedback WHERE course_id = :courseId AND rating IS NOT NULL",
+            nativeQuery = true)
+    List<Object[]> computeStatsFromFeedback(@Param("courseId") Long courseId);
+
+    // Overwrite a course's aggregates, creating the row if needed
+    @Modifying
+    @Query(value = "INSERT INTO course_rating_stats " +
+            "(course_id, rating_sum, rating_count, one_star, two_star, three_star, four_star, five_star) " +
+            "VALUES (:courseId, :sum, :count, :oneStar, :twoStar, :threeStar, :fourStar, :fiveStar) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "rating_sum = VALUES(rating_sum), " +
+            "rating_count = VALUES(rating_count), " +
+            "one_star = VALUES(one_star), " +
+            "two_star = VALUES(two_star), " +
+            "three_star = VALUES(three_star), " +
+            "four_star = VALUES(four_star), " +
+            "five_star = VALUES(five_star)",
+            nativeQuery = true)
+    void replaceStats(@Param("courseId") Long courseId,
+                      @Param("sum") long sum,
+                      @Param("count") long count,
+                      @Param("oneStar") long oneStar,
+                      @Param("twoStar") long twoStar,
+                      @Param("threeStar") long threeStar,
+                      @Param("fourStar") long fourStar,
+                      @Param("fiveStar") long fiveStar);
+}
@@ -1,11 +1,66 @@
 package com.hamza.courseenrollmentsystem.repository;
 
+import com.hamza.courseenrollmentsystem.dto.CourseDto;
+import com.hamza.courseenrollmentsystem.dto.CourseSeatCountDto;
 import com.hamza.courseenrollmentsystem.entity.Course;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface CourseRepository extends JpaRepository<Course, Long> {
-    List<Course> findByCategoryId(Long categoryId);
-}
 
+    // Read-model projection: builds CourseDto rows straight from a course/category join without loading entities
+    String COURSE_DTO_SELECT = "SELECT new com.hamza.courseenrollmentsystem.dto.CourseDto(" +
+            "c.id, c.title, c.description, c.instructorApiId, cat.id, cat.name, c.capacity) " +
+            "FROM Course c LEFT JOIN c.category cat ";
+
+    String SEAT_COUNT_SELECT = "SELECT new com.hamza.courseenrollmentsystem.dto.CourseSeatCountDto(" +
+            "c.id, c.capacity, COUNT(e.id)) FROM Course c LEFT JOIN c.enrollments e ";
+
+    @Query(COURSE_DTO_SELECT + "WHERE c.category.id = :categoryId ORDER BY c.id")
+    List<CourseDto> findByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query(COURSE_DTO_SELECT + "ORDER BY c.id")
+    List<CourseDto> findAllDtos();
+
+    @Query(COURSE_DTO_SELECT + "WHERE c.id = :id")
+    Optional<CourseDto> findDtoById(@Param("id") Long id);
+
+    // Keyset page of courses ordered by id
+    @Query(COURSE_DTO_SELECT + "WHERE c.id > :afterId ORDER BY c.id")
+    List<CourseDto> findDtoPageAfter(@Param("afterId") long afterId, Limit limit);
+
+    // Keyset page of the courses whose title or description matches a lower-case LIKE pattern ('!' escapes).
+    // A backslash escape would be read as a string escape by MySQL
+    @Query(COURSE_DTO_SELECT + "WHERE c.id > :afterId " +
+            "AND (LOWER(c.title) LIKE :pattern ESCAPE '!' OR LOWER(c.description) LIKE :pattern ESCAPE '!') " +
+            "ORDER BY c.id")
+    List<CourseDto> searchDtoPageAfter(@Param("pattern") String pattern, @Param("afterId") long afterId, Limit limit);
+
+    // Which of the given course ids exist, in one query
+    @Query("SELECT c.id FROM Course c WHERE c.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Capacity and current enrollment count of every course, for seat counter reconciliation
+    @Query(SEAT_COUNT_SELECT + "GROUP BY c.id, c.capacity")
+    List<CourseSeatCountDto> findSeatCounts();
+
+    // Capacity and current enrollment count of one course
+    @Query(SEAT_COUNT_SELECT + "WHERE c.id = :id GROUP BY c.id, c.capacity")
+    Optional<CourseSeatCountDto> findSeatCountById(@Param("id") Long id);
+
+    // Seats left in one course (null when it has no capacity), read under a lock on the course row so
+    // enrollments of the course from every application instance wait until this transaction ends
+    @Query(value = "SELECT c.capacity - (SELECT COUNT(*) FROM enrollments e WHERE e.course_id = c.id) " +
+                   "FROM courses c WHERE c.id = :id FOR UPDATE", nativeQuery = true)
+    Long lockRemainingSeats(@Param("id") Long id);
+
+    // Keyset page of course entities ordered by id, with their category in the same query
+    @Query("SELECT c FROM Course c LEFT JOIN FETCH c.category WHERE c.id > :afterId ORDER BY c.id")
+    List<Course> findPageAfter(@Param("afterId") long afterId, Limit limit);
+}
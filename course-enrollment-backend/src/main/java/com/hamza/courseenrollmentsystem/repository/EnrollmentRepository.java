@@ -1,18 +1,63 @@
 package com.hamza.courseenrollmentsystem.repository;
 
+import com.hamza.courseenrollmentsystem.dto.CourseEnrollmentCountDto;
+import com.hamza.courseenrollmentsystem.dto.EnrolledCourseDto;
+import com.hamza.courseenrollmentsystem.dto.EnrollmentPairDto;
 import com.hamza.courseenrollmentsystem.entity.Enrollment;
 import com.hamza.courseenrollmentsystem.entity.User;
 import com.hamza.courseenrollmentsystem.entity.Course;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
 
+    // Read-model projection: a user's enrolled courses with category and enrollment date from one join
+    String ENROLLED_COURSE_DTO_SELECT = "SELECT new com.hamza.courseenrollmentsystem.dto.EnrolledCourseDto(" +
+            "c.id, c.title, c.description, c.instructorApiId, cat.id, cat.name, e.enrollmentDate) " +
+            "FROM Enrollment e JOIN e.course c LEFT JOIN c.category cat ";
+
     // Check if user is enrolled in a course
     boolean existsByUserAndCourse(User user, Course course);
 
+    // Check enrollment by ids without loading the user or course
+    boolean existsByUserIdAndCourseId(Long userId, Long courseId);
+
     // Get all enrollments for a user
     List<Enrollment> findByUser(User user);
-}
 
+    // Delete a single enrollment without loading it; returns the number of rows removed
+    @Modifying
+    @Query("DELETE FROM Enrollment e WHERE e.user.id = :userId AND e.course.id = :courseId")
+    int deleteByUserIdAndCourseId(@Param("userId") Long userId, @Param("courseId") Long courseId);
+
+    // Keyset page of a user's enrolled courses ordered by course id
+    @Query(ENROLLED_COURSE_DTO_SELECT + "WHERE e.user.id = :userId AND c.id > :afterCourseId ORDER BY c.id")
+    List<EnrolledCourseDto> findCoursePageByUserId(@Param("userId") Long userId,
+                                                   @Param("afterCourseId") long afterCourseId,
+                                                   Limit limit);
+
+    // All enrolled courses of the user with this email, oldest enrollment first
+    @Query(ENROLLED_COURSE_DTO_SELECT + "WHERE e.user.email = :email ORDER BY e.enrollmentDate, c.id")
+    List<EnrolledCourseDto> findCoursesByUserEmail(@Param("email") String email);
+
+    // Which of the given enrollment ids exist, in one query
+    @Query("SELECT e.id FROM Enrollment e WHERE e.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Existing enrollments among the cross product of the given students and courses
+    @Query("SELECT new com.hamza.courseenrollmentsystem.dto.EnrollmentPairDto(e.user.id, e.course.id) " +
+           "FROM Enrollment e WHERE e.user.id IN :userIds AND e.course.id IN :courseIds")
+    List<EnrollmentPairDto> findPairs(@Param("userIds") Collection<Long> userIds,
+                                      @Param("courseIds") Collection<Long> courseIds);
+
+    // Enrollment count for each of the given courses in one grouped query
+    @Query("SELECT new com.hamza.courseenrollmentsystem.dto.CourseEnrollmentCountDto(e.course.id, COUNT(e)) " +
+           "FROM Enrollment e WHERE e.course.id IN :courseIds GROUP BY e.course.id")
+    List<CourseEnrollmentCountDto> countByCourseIds(@Param("courseIds") Collection<Long> courseIds);
+}
@@ -3,7 +3,9 @@ package com.hamza.courseenrollmentsystem.repository;
 import com.hamza.courseenrollmentsystem.entity.Feedback;
 import com.hamza.courseenrollmentsystem.entity.Course;
 import com.hamza.courseenrollmentsystem.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -14,6 +16,11 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     // Find feedback by user and course
     Optional<Feedback> findByUserAndCourse(User user, Course course);
 
+    // Find feedback by user and course, holding a row lock until the transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM Feedback f WHERE f.user = :user AND f.course = :course")
+    Optional<Feedback> findByUserAndCourseForUpdate(@Param("user") User user, @Param("course") Course course);
+
     // Calculate average rating for a course
     @Query("SELECT AVG(f.rating) FROM Feedback f WHERE f.course.id = :courseId AND f.rating IS NOT NULL")
     Double findAverageRatingByCourseId(@Param("courseId") Long courseId);
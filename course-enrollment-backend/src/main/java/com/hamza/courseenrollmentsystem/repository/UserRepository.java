@@ -1,11 +1,34 @@
 package com.hamza.courseenrollmentsystem.repository;
 
+import com.hamza.courseenrollmentsystem.dto.UserIdentityDto;
 import com.hamza.courseenrollmentsystem.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
-}
 
+    // Id and role for an email, without loading the entity
+    @Query("SELECT new com.hamza.courseenrollmentsystem.dto.UserIdentityDto(u.id, u.email, u.role) " +
+            "FROM User u WHERE u.email = :email")
+    Optional<UserIdentityDto> findIdentityByEmail(@Param("email") String email);
+
+    // Which of the given user ids exist, in one query
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Replace a password only if it is still the one that was verified, so a concurrent change wins
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newPassword WHERE u.id = :id AND u.password = :oldPassword")
+    int updatePasswordIfUnchanged(@Param("id") Long id,
+                                  @Param("oldPassword") String oldPassword,
+                                  @Param("newPassword") String newPassword);
+}
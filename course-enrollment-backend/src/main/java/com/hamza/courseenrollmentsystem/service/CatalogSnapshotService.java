@@ -0,0 +1,267 @@
+package com.hamza.courseenrollmentsystem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hamza.courseenrollmentsystem.dto.CategoryDto;
+import com.hamza.courseenrollmentsystem.dto.CourseDto;
+import com.hamza.courseenrollmentsystem.dto.CursorPage;
+import com.hamza.courseenrollmentsystem.repository.CategoryRepository;
+import com.hamza.courseenrollmentsystem.repository.CourseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Immutable, pre-serialized copy of the public catalog. Every default-size page of
+ * GET /api/courses and GET /api/categories, and the course list of every category, is held
+ * as ready-made JSON bytes plus a gzip copy, so serving one is a buffer write with no Jackson
+ * work and no allocation proportional to the catalog.
+ *
+ * The snapshot is rebuilt lazily on the first request after CatalogVersion changes, so a burst
+ * of admin edits costs one rebuild, and requests arriving during it get the previous snapshot.
+ * Requests with a non-default limit or a cursor that does not fall on a page boundary of the
+ * snapshot take the regular, cached query path.
+ *
+ * CatalogVersion only sees this instance's writes. With several instances on one database, a
+ * snapshot older than catalog.snapshot.max-age is therefore rebuilt as well; if its content
+ * changed, the version is bumped so clients holding the old ETag get the new data. Edits made
+ * through another instance thus show up here within max-age, like in the Caffeine caches.
+ */
+@Service
+public class CatalogSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+    private final CourseRepository courseRepository;
+    private final CategoryRepository categoryRepository;
+    private final CatalogVersion catalogVersion;
+    private final ObjectMapper objectMapper;
+    // Zero disables the age check
+    private final long maxAgeNanos;
+
+    private volatile Snapshot snapshot;
+
+    // A ReentrantLock rather than a monitor: the rebuild does JDBC I/O, which would pin a virtual thread
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    public CatalogSnapshotService(CourseRepository courseRepository, CategoryRepository categoryRepository,
+                                  CatalogVersion catalogVersion, ObjectMapper objectMapper,
+                                  @Value("${catalog.snapshot.max-age:10m}") Duration maxAge) {
+        this.courseRepository = courseRepository;
+        this.categoryRepository = categoryRepository;
+        this.catalogVersion = catalogVersion;
+        this.objectMapper = objectMapper;
+        this.maxAgeNanos = maxAge.toNanos();
+    }
+
+    /**
+     * The snapshot for the current catalog version, rebuilt first if the catalog changed or the
+     * snapshot is older than max-age. One caller rebuilds; while it does, the others keep serving
+     * the previous snapshot under its own ETag. Only the very first build is waited for, as there
+     * is nothing to serve yet.
+     */
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null && current.getETag().equals(catalogVersion.getETag()) && !isExpired(current)) {
+            return current;
+        }
+        if (current == null) {
+            rebuildLock.lock();
+        } else if (!rebuildLock.tryLock()) {
+            return current;
+        }
+        try {
+            // Taken before the data is read, see CatalogVersion
+            String eTag = catalogVersion.getETag();
+            current = snapshot;
+            if (current == null || !current.getETag().equals(eTag)) {
+                current = build(eTag);
+                snapshot = current;
+            } else if (isExpired(current)) {
+                Snapshot rebuilt = build(eTag);
+                if (!MessageDigest.isEqual(rebuilt.contentHash, current.contentHash)) {
+                    // Changed through another instance; the same ETag must not stand for new content.
+                    // Built again under the new ETag, which has to be taken before the data is read
+                    catalogVersion.bumpAfterCommit();
+                    rebuilt = build(catalogVersion.getETag());
+                }
+                current = rebuilt;
+                snapshot = current;
+            }
+            return current;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private boolean isExpired(Snapshot current) {
+        return maxAgeNanos > 0 && System.nanoTime() - current.builtAt >= maxAgeNanos;
+    }
+
+    private Snapshot build(String eTag) {
+        long start = System.nanoTime();
+        List<CourseDto> courses = courseRepository.findAllDtos();
+        List<CategoryDto> categories = categoryRepository.findAllDtos();
+
+        Map<Long, List<CourseDto>> coursesByCategory = new HashMap<>();
+        for (CourseDto course : courses) {
+            if (course.getCategoryId() != null) {
+                coursesByCategory.computeIfAbsent(course.getCategoryId(), id -> new ArrayList<>()).add(course);
+            }
+        }
+        Map<Long, SerializedPage> categoryCourses = new HashMap<>();
+        coursesByCategory.forEach((categoryId, list) -> categoryCourses.put(categoryId, serialize(list, null)));
+
+        Map<Long, SerializedPage> coursePages = paginate(courses, CourseDto::getId);
+        Map<Long, SerializedPage> categoryPages = paginate(categories, CategoryDto::getId);
+        Snapshot built = new Snapshot(eTag, coursePages, categoryPages, categoryCourses, serialize(List.of(), null),
+                contentHash(coursePages, categoryPages), System.nanoTime());
+        logger.info("Rebuilt catalog snapshot {} ({} courses, {} categories) in {} ms", eTag, courses.size(),
+                categories.size(), (System.nanoTime() - start) / 1_000_000);
+        return built;
+    }
+
+    // Default-size pages keyed by the id they follow, with the cursors CursorPage would hand out
+    private <T> Map<Long, SerializedPage> paginate(List<T> rows, Function<T, Long> idExtractor) {
+        int limit = CursorPage.DEFAULT_LIMIT;
+        Map<Long, SerializedPage> pages = new HashMap<>();
+        int from = 0;
+        do {
+            int to = Math.min(from + limit, rows.size());
+            long afterId = from == 0 ? 0L : idExtractor.apply(rows.get(from - 1));
+            String nextCursor = to < rows.size() ? CursorPage.encodeCursor(idExtractor.apply(rows.get(to - 1))) : null;
+            pages.put(afterId, serialize(rows.subList(from, to), nextCursor));
+            from = to;
+        } while (from < rows.size());
+        return pages;
+    }
+
+    private SerializedPage serialize(List<?> items, String nextCursor) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(items);
+            byte[] gzip = gzip(json);
+            // Tiny pages can grow when compressed; those are only served uncompressed
+            return new SerializedPage(json, gzip.length < json.length ? gzip : null, nextCursor);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize catalog snapshot", e);
+        }
+    }
+
+    // The category course lists are derived from the course pages, so those two cover everything
+    private static byte[] contentHash(Map<Long, SerializedPage> coursePages, Map<Long, SerializedPage> categoryPages) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Map<Long, SerializedPage> pages : List.of(coursePages, categoryPages)) {
+                new TreeMap<>(pages).values().forEach(page -> digest.update(page.getJson()));
+            }
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Compressed once per rebuild, so the slowest level is affordable
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * One catalog version, serialized
+     */
+    public static class Snapshot {
+
+        private final String eTag;
+        private final Map<Long, SerializedPage> coursePages;
+        private final Map<Long, SerializedPage> categoryPages;
+        private final Map<Long, SerializedPage> categoryCourses;
+        private final SerializedPage emptyList;
+        private final byte[] contentHash;
+        private final long builtAt;
+
+        Snapshot(String eTag, Map<Long, SerializedPage> coursePages, Map<Long, SerializedPage> categoryPages,
+                 Map<Long, SerializedPage> categoryCourses, SerializedPage emptyList, byte[] contentHash, long builtAt) {
+            this.eTag = eTag;
+            this.coursePages = coursePages;
+            this.categoryPages = categoryPages;
+            this.categoryCourses = categoryCourses;
+            this.emptyList = emptyList;
+            this.contentHash = contentHash;
+            this.builtAt = builtAt;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        // Default-size course page following afterId, or null when no page starts there
+        public SerializedPage getCoursePage(long afterId) {
+            return coursePages.get(afterId);
+        }
+
+        // Default-size category page following afterId, or null when no page starts there
+        public SerializedPage getCategoryPage(long afterId) {
+            return categoryPages.get(afterId);
+        }
+
+        // The snapshot holds every course, so a category without an entry has none
+        public SerializedPage getCoursesOfCategory(long categoryId) {
+            return categoryCourses.getOrDefault(categoryId, emptyList);
+        }
+    }
+
+    /**
+     * A JSON array body with its optional gzip encoding and next-page cursor
+     */
+    public static class SerializedPage {
+
+        private final byte[] json;
+        private final byte[] gzip;
+        private final String nextCursor;
+
+        SerializedPage(byte[] json, byte[] gzip, String nextCursor) {
+            this.json = json;
+            this.gzip = gzip;
+            this.nextCursor = nextCursor;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        // Null when compression would not shrink the body
+        public byte[] getGzip() {
+            return gzip;
+        }
+
+        public String getNextCursor() {
+            return nextCursor;
+        }
+    }
+}
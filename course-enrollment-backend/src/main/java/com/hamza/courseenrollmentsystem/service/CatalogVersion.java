@@ -0,0 +1,79 @@
+package com.hamza.courseenrollmentsystem.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Version of the public catalog (courses and categories), bumped by every write to either.
+ * The catalog GET endpoints derive a strong ETag from it, so a client revalidating with
+ * If-None-Match gets a 304 without the database or Jackson being touched.
+ *
+ * Writes bump it only on the instance that made them; CatalogSnapshotService bumps it when a
+ * periodic rebuild finds the catalog changed through another instance.
+ *
+ * The version is bumped only after the writing transaction commits. A reader that sees the
+ * old version and the new rows merely serves an extra 200 later; the reverse would tag stale
+ * rows with the new version. Readers must therefore take the ETag before loading the data.
+ */
+@Component
+public class CatalogVersion {
+
+    // Differs per process start, so ETags handed out before a restart never match
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private long version;
+    private volatile String eTag = buildETag(0);
+
+    /**
+     * The current strong ETag, quoted as it appears in the ETag header
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    /**
+     * Whether an If-None-Match header names eTag. Weak comparison, as RFC 9110 prescribes for
+     * If-None-Match, so a W/ prefix added by a compressing proxy still matches.
+     */
+    public static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals(eTag) || candidate.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bump the version once the current transaction commits, or right away outside one
+     */
+    public void bumpAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bump();
+            }
+        });
+    }
+
+    // Writes are rare; synchronizing keeps the published ETag from going backwards
+    private synchronized void bump() {
+        eTag = buildETag(++version);
+    }
+
+    private String buildETag(long version) {
+        return "\"catalog-" + epoch + "-" + version + "\"";
+    }
+}
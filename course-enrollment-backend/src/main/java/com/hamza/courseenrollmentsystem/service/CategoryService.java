@@ -1,10 +1,12 @@
 package com.hamza.courseenrollmentsystem.service;
 
 import com.hamza.courseenrollmentsystem.dto.CategoryDto;
+import com.hamza.courseenrollmentsystem.dto.CursorPage;
 import java.util.List;
 
 public interface CategoryService {
     List<CategoryDto> findAll();
+    CursorPage<CategoryDto> findPage(long afterId, int limit);
     CategoryDto findById(Long id);
     CategoryDto create(CategoryDto dto);
     CategoryDto update(Long id, CategoryDto dto);
@@ -1,10 +1,13 @@
 package com.hamza.courseenrollmentsystem.service;
 
 import com.hamza.courseenrollmentsystem.dto.CourseDto;
+import com.hamza.courseenrollmentsystem.dto.CursorPage;
 import java.util.List;
 
 public interface CourseService {
     List<CourseDto> findAll();
+    CursorPage<CourseDto> findPage(long afterId, int limit);
+    CursorPage<CourseDto> search(String query, long afterId, int limit);
     CourseDto findById(Long id);
     CourseDto create(CourseDto dto);
     CourseDto update(Long id, CourseDto dto);
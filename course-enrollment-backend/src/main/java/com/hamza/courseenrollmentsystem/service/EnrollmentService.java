@@ -0,0 +1,265 @@
+package com.hamza.courseenrollmentsystem.service;
+
+import com.hamza.courseenrollmentsystem.dto.BulkEnrollmentResultDto;
+import com.hamza.courseenrollmentsystem.dto.EnrollmentPairDto;
+import com.hamza.courseenrollmentsystem.entity.Enrollment;
+import com.hamza.courseenrollmentsystem.exception.AlreadyEnrolledException;
+import com.hamza.courseenrollmentsystem.exception.CourseFullException;
+import com.hamza.courseenrollmentsystem.repository.CourseRepository;
+import com.hamza.courseenrollmentsystem.repository.EnrollmentRepository;
+import com.hamza.courseenrollmentsystem.repository.UserRepository;
+import com.hamza.courseenrollmentsystem.util.EntityIdAllocator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+@Service
+public class EnrollmentService {
+
+    // Upper bound on the number of pairs accepted by one bulk enrollment
+    public static final int MAX_BULK_SIZE = 10000;
+
+    // Ids per IN list in the bulk validation queries
+    private static final int QUERY_CHUNK_SIZE = 1000;
+
+    // Rows per JDBC batch in bulk inserts
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    // Inserts the enrollment unless uk_user_course already holds the pair (update count 0), so an
+    // expected duplicate is detected without a constraint violation being raised and logged.
+    // In a bulk insert a pair enrolled concurrently since validation is skipped instead of failing the batch.
+    private static final String INSERT_ENROLLMENT_IF_ABSENT_SQL =
+            "INSERT IGNORE INTO enrollments (id, enrollment_date, user_id, course_id) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private SeatReservationService seatReservationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityIdAllocator entityIdAllocator;
+
+    /**
+     * Enroll a student in a course.
+     * Duplicates are rejected by the uk_user_course unique key rather than a prior lookup,
+     * so concurrent requests for the same pair cannot both succeed.
+     * A seat is taken from SeatReservationService before the insert and handed back on rollback.
+     */
+    @Transactional
+    public void enroll(Long studentId, Long courseId) {
+        if (!userRepository.existsById(studentId)) {
+            throw new RuntimeException("Student not found");
+        }
+        if (!seatReservationService.reserveSeat(courseId)) {
+            if (enrollmentRepository.existsByUserIdAndCourseId(studentId, courseId)) {
+                throw new AlreadyEnrolledException();
+            }
+            throw new CourseFullException();
+        }
+
+        // The id comes from the Enrollment generator, like the rows Hibernate inserts
+        long id = entityIdAllocator.nextIds(Enrollment.class, 1)[0];
+        int inserted = jdbcTemplate.update(INSERT_ENROLLMENT_IF_ABSENT_SQL,
+                id, Timestamp.valueOf(LocalDateTime.now()), studentId, courseId);
+        if (inserted == 0) {
+            // MySQL's INSERT IGNORE also skips a row whose course was deleted in the meantime
+            if (enrollmentRepository.existsByUserIdAndCourseId(studentId, courseId)) {
+                throw new AlreadyEnrolledException();
+            }
+            throw new RuntimeException("Course not found");
+        }
+    }
+
+    /**
+     * Remove a student's enrollment in a course with a single delete statement
+     */
+    @Transactional
+    public void unenroll(Long studentId, Long courseId) {
+        if (enrollmentRepository.deleteByUserIdAndCourseId(studentId, courseId) > 0) {
+            seatReservationService.releaseSeat(courseId);
+            return;
+        }
+        if (!userRepository.existsById(studentId)) {
+            throw new RuntimeException("Student not found");
+        }
+        throw new RuntimeException("Not enrolled in this course");
+    }
+
+    /**
+     * Enroll many student/course pairs in one transaction.
+     * Students, courses and existing enrollments are checked with a handful of IN queries,
+     * seats are reserved per course in one step and the new rows are written with JDBC batch inserts.
+     * Every pair gets its own result, in request order.
+     */
+    @Transactional
+    public List<BulkEnrollmentResultDto> enrollAll(List<EnrollmentPairDto> pairs) {
+        if (pairs.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " enrollments can be created at once");
+        }
+
+        Set<Long> studentIds = new HashSet<>();
+        Set<Long> courseIds = new HashSet<>();
+        for (EnrollmentPairDto pair : pairs) {
+            if (isComplete(pair)) {
+                studentIds.add(pair.getStudentId());
+                courseIds.add(pair.getCourseId());
+            }
+        }
+
+        Set<Long> existingStudents = findInChunks(studentIds, userRepository::findExistingIds);
+        Set<Long> existingCourses = findInChunks(courseIds, courseRepository::findExistingIds);
+        Set<EnrollmentPairDto> enrolled = findEnrolledPairs(existingStudents, existingCourses);
+
+        // Classify every pair; valid ones are grouped by course for seat reservation
+        BulkEnrollmentResultDto[] results = new BulkEnrollmentResultDto[pairs.size()];
+        Set<EnrollmentPairDto> seen = new HashSet<>();
+        Map<Long, List<Integer>> candidatesByCourse = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.size(); i++) {
+            EnrollmentPairDto pair = pairs.get(i);
+            if (!isComplete(pair)) {
+                results[i] = failure(pair, "Student ID and course ID are required");
+            } else if (!seen.add(pair)) {
+                results[i] = failure(pair, "Duplicate pair in request");
+            } else if (!existingStudents.contains(pair.getStudentId())) {
+                results[i] = failure(pair, "Student not found");
+            } else if (!existingCourses.contains(pair.getCourseId())) {
+                results[i] = failure(pair, "Course not found");
+            } else if (enrolled.contains(pair)) {
+                results[i] = failure(pair, "Already enrolled in this course");
+            } else {
+                candidatesByCourse.computeIfAbsent(pair.getCourseId(), id -> new ArrayList<>()).add(i);
+            }
+        }
+
+        List<Integer> accepted = new ArrayList<>();
+        Map<Long, SeatReservationService.BulkReservation> reservations = new HashMap<>();
+        candidatesByCourse.forEach((courseId, indexes) -> {
+            SeatReservationService.BulkReservation reservation =
+                    seatReservationService.reserveSeats(courseId, indexes.size());
+            reservations.put(courseId, reservation);
+            for (int j = 0; j < indexes.size(); j++) {
+                if (j < reservation.getGranted()) {
+                    accepted.add(indexes.get(j));
+                } else {
+                    results[indexes.get(j)] = failure(pairs.get(indexes.get(j)), "Course is full");
+                }
+            }
+        });
+        Collections.sort(accepted);
+
+        long[] ids = entityIdAllocator.nextIds(Enrollment.class, accepted.size());
+        List<Integer> rows = IntStream.range(0, accepted.size()).boxed().toList();
+        Timestamp enrollmentDate = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_ENROLLMENT_IF_ABSENT_SQL, rows, INSERT_BATCH_SIZE,
+                (ps, row) -> {
+                    EnrollmentPairDto pair = pairs.get(accepted.get(row));
+                    ps.setLong(1, ids[row]);
+                    ps.setTimestamp(2, enrollmentDate);
+                    ps.setLong(3, pair.getStudentId());
+                    ps.setLong(4, pair.getCourseId());
+                });
+
+        // Update counts cannot tell skipped rows apart: rewritten batches report SUCCESS_NO_INFO for every row.
+        // The ids were allocated for this call only, so the rows carrying them are exactly the inserted ones.
+        Set<Long> idSet = new HashSet<>(accepted.size());
+        for (long id : ids) {
+            idSet.add(id);
+        }
+        Set<Long> inserted = findInChunks(idSet, enrollmentRepository::findExistingIds);
+
+        List<EnrollmentPairDto> skipped = new ArrayList<>();
+        for (int row = 0; row < accepted.size(); row++) {
+            int index = accepted.get(row);
+            EnrollmentPairDto pair = pairs.get(index);
+            if (inserted.contains(ids[row])) {
+                results[index] = new BulkEnrollmentResultDto(pair.getStudentId(), pair.getCourseId(), true, "Enrolled");
+            } else {
+                skipped.add(pair);
+                reservations.get(pair.getCourseId()).release(1);
+            }
+        }
+        if (!skipped.isEmpty()) {
+            // Enrolled concurrently, or (MySQL skips foreign key failures too) the course was deleted meanwhile
+            Set<Long> skippedStudents = new HashSet<>();
+            Set<Long> skippedCourses = new HashSet<>();
+            for (EnrollmentPairDto pair : skipped) {
+                skippedStudents.add(pair.getStudentId());
+                skippedCourses.add(pair.getCourseId());
+            }
+            Set<EnrollmentPairDto> enrolledNow = findEnrolledPairs(skippedStudents, skippedCourses);
+            for (int row = 0; row < accepted.size(); row++) {
+                int index = accepted.get(row);
+                if (results[index] == null) {
+                    results[index] = failure(pairs.get(index), enrolledNow.contains(pairs.get(index))
+                            ? "Already enrolled in this course" : "Course not found");
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private Set<EnrollmentPairDto> findEnrolledPairs(Set<Long> studentIds, Set<Long> courseIds) {
+        Set<EnrollmentPairDto> enrolled = new HashSet<>();
+        if (studentIds.isEmpty() || courseIds.isEmpty()) {
+            return enrolled;
+        }
+        for (List<Long> studentChunk : chunk(studentIds)) {
+            for (List<Long> courseChunk : chunk(courseIds)) {
+                enrolled.addAll(enrollmentRepository.findPairs(studentChunk, courseChunk));
+            }
+        }
+        return enrolled;
+    }
+
+    private Set<Long> findInChunks(Set<Long> ids, Function<List<Long>, List<Long>> query) {
+        Set<Long> found = new HashSet<>();
+        for (List<Long> chunk : chunk(ids)) {
+            found.addAll(query.apply(chunk));
+        }
+        return found;
+    }
+
+    private List<List<Long>> chunk(Set<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += QUERY_CHUNK_SIZE) {
+            chunks.add(all.subList(from, Math.min(from + QUERY_CHUNK_SIZE, all.size())));
+        }
+        return chunks;
+    }
+
+    private boolean isComplete(EnrollmentPairDto pair) {
+        return pair != null && pair.getStudentId() != null && pair.getCourseId() != null;
+    }
+
+    private BulkEnrollmentResultDto failure(EnrollmentPairDto pair, String message) {
+        return pair == null
+                ? new BulkEnrollmentResultDto(null, null, false, message)
+                : new BulkEnrollmentResultDto(pair.getStudentId(), pair.getCourseId(), false, message);
+    }
+}
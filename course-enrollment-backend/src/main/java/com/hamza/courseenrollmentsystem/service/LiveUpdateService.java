@@ -0,0 +1,423 @@
+package com.hamza.courseenrollmentsystem.service;
+
+import com.hamza.courseenrollmentsystem.dto.CourseRatingDto;
+import com.hamza.courseenrollmentsystem.dto.CourseSeatCountDto;
+import com.hamza.courseenrollmentsystem.entity.CourseRatingStats;
+import com.hamza.courseenrollmentsystem.repository.CourseRatingStatsRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pushes course-level changes (new rating averages, enrollment counts) to dashboards over
+ * Server-Sent Events, so they need not poll the rating endpoints.
+ *
+ * Changes are coalesced twice. Writers only mark a course as changed; once per
+ * live-updates.interval-ms the dispatcher reads the averages of all changed courses in one
+ * query and fans the events out. Each subscriber then has a bounded buffer keyed by event
+ * and course, so a newer update replaces one not yet sent. When a slow subscriber's buffer
+ * still overflows, its oldest update is dropped and a "resync" event tells it to refetch.
+ *
+ * Idle connections hold no thread: emitters are parked in Tomcat's async mode and written
+ * to from a small sender pool, one task per subscriber with pending updates. A write to a
+ * client that stops reading blocks its sender thread until the socket times out, so every
+ * dispatch also looks for writes running longer than live-updates.write-timeout: such a
+ * subscriber is dropped, and the pool gets an extra thread until the stuck write returns,
+ * so the other subscribers keep being served.
+ */
+@Service
+public class LiveUpdateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveUpdateService.class);
+
+    public static final String RATING_EVENT = "rating";
+    public static final String ENROLLMENT_EVENT = "enrollment";
+    public static final String RESYNC_EVENT = "resync";
+
+    // Event types a client may restrict its stream to
+    public static final Set<String> EVENT_TYPES = Set.of(RATING_EVENT, ENROLLMENT_EVENT);
+
+    private final CourseRatingStatsRepository courseRatingStatsRepository;
+
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final long heartbeatNanos;
+    private final long writeTimeoutNanos;
+    private final int senderThreads;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor sender;
+    // Sender threads blocked in a write whose subscriber was dropped; each one is replaced
+    private int stalledSenders;
+
+    // Changes since the last dispatch: courses whose average moved, latest seat count per course
+    private final Set<Long> changedRatings = ConcurrentHashMap.newKeySet();
+    private final Map<Long, CourseSeatCountDto> changedEnrollments = new ConcurrentHashMap<>();
+
+    private long lastHeartbeat = System.nanoTime();
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder stalled = new LongAdder();
+
+    public LiveUpdateService(CourseRatingStatsRepository courseRatingStatsRepository,
+                             @Value("${live-updates.buffer-size:64}") int bufferSize,
+                             @Value("${live-updates.max-subscribers:10000}") int maxSubscribers,
+                             @Value("${live-updates.sender-threads:2}") int senderThreads,
+                             @Value("${live-updates.timeout:30m}") Duration timeout,
+                             @Value("${live-updates.heartbeat:25s}") Duration heartbeat,
+                             @Value("${live-updates.write-timeout:5s}") Duration writeTimeout) {
+        this.courseRatingStatsRepository = courseRatingStatsRepository;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeout.toMillis();
+        this.heartbeatNanos = heartbeat.toNanos();
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+        this.senderThreads = senderThreads;
+        // Each subscriber is queued at most once, so the queue is bounded by the subscriber count
+        this.sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new SenderThreadFactory());
+    }
+
+    /**
+     * Open a stream of updates for the given courses, or for every course when courseIds is empty.
+     * events restricts the stream to some of EVENT_TYPES; empty means all of them.
+     *
+     * @return null when live-updates.max-subscribers streams are already open
+     */
+    public SseEmitter subscribe(Set<Long> courseIds, Set<String> events) {
+        if (subscribers.size() >= maxSubscribers) {
+            rejected.increment();
+            return null;
+        }
+        SseEmitter emitter = createEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, courseIds.isEmpty() ? null : courseIds,
+                events.isEmpty() ? null : events);
+        // The client's EventSource reconnects after a timeout, so ending the stream is enough
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> {
+            subscribers.remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    // Overridden in tests to simulate clients that stop reading
+    SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    /**
+     * Announce the course's new average once the current transaction commits
+     */
+    public void ratingChangedAfterCommit(Long courseId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            changedRatings.add(courseId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                changedRatings.add(courseId);
+            }
+        });
+    }
+
+    /**
+     * Announce a course's committed seat count; only the latest count per dispatch is sent
+     */
+    public void enrollmentChanged(CourseSeatCountDto seatCount) {
+        changedEnrollments.put(seatCount.getCourseId(), seatCount);
+    }
+
+    /**
+     * Fan the changes collected since the last run out to the subscribers' buffers
+     */
+    @Scheduled(fixedDelayString = "${live-updates.interval-ms:500}")
+    public void dispatch() {
+        dropStalledSubscribers();
+
+        List<Update> updates = new ArrayList<>();
+        if (!changedRatings.isEmpty()) {
+            Set<Long> courseIds = drain(changedRatings);
+            if (!subscribers.isEmpty()) {
+                collectRatingUpdates(courseIds, updates);
+            }
+        }
+        for (Long courseId : new ArrayList<>(changedEnrollments.keySet())) {
+            CourseSeatCountDto seatCount = changedEnrollments.remove(courseId);
+            if (seatCount != null) {
+                updates.add(new Update(ENROLLMENT_EVENT, courseId, seatCount));
+            }
+        }
+
+        boolean heartbeat = System.nanoTime() - lastHeartbeat >= heartbeatNanos;
+        if (heartbeat) {
+            lastHeartbeat = System.nanoTime();
+        }
+        if (updates.isEmpty() && !heartbeat) {
+            return;
+        }
+
+        for (Subscriber subscriber : subscribers) {
+            boolean queued = false;
+            for (Update update : updates) {
+                queued |= subscriber.offer(update);
+            }
+            if (heartbeat) {
+                // Keeps proxies from closing idle streams and finds clients that went away
+                queued |= subscriber.offer(Update.HEARTBEAT);
+            }
+            if (queued && subscriber.startSending()) {
+                sender.execute(() -> flush(subscriber));
+            }
+        }
+    }
+
+    // Averages of all changed courses in one query; courses whose ratings were all removed report 0
+    private void collectRatingUpdates(Set<Long> courseIds, List<Update> updates) {
+        Map<Long, CourseRatingDto> ratings = new LinkedHashMap<>();
+        for (Long courseId : courseIds) {
+            ratings.put(courseId, new CourseRatingDto(courseId, 0.0, 0L));
+        }
+        for (CourseRatingStats stats : courseRatingStatsRepository.findAllById(courseIds)) {
+            if (stats.getRatingCount() > 0) {
+                ratings.put(stats.getCourseId(),
+                        new CourseRatingDto(stats.getCourseId(), stats.getAverageRating(), stats.getRatingCount()));
+            }
+        }
+        ratings.forEach((courseId, rating) -> updates.add(new Update(RATING_EVENT, courseId, rating)));
+    }
+
+    // Runs on the sender pool until the subscriber's buffer is empty
+    private void flush(Subscriber subscriber) {
+        List<Update> batch;
+        while ((batch = subscriber.takePending()) != null) {
+            for (Update update : batch) {
+                long startedAt = System.nanoTime();
+                subscriber.writeStarted.set(startedAt);
+                try {
+                    if (update == Update.HEARTBEAT) {
+                        subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        subscriber.emitter.send(SseEmitter.event().name(update.event).data(update.data));
+                        sent.increment();
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // The client went away; the emitter callbacks may not fire for a broken write
+                    logger.debug("Dropping live update subscriber: {}", e.getMessage());
+                    subscribers.remove(subscriber);
+                    subscriber.emitter.completeWithError(e);
+                    if (!subscriber.writeStarted.compareAndSet(startedAt, 0L)) {
+                        resizeSender(-1);
+                    }
+                    return;
+                }
+                if (!subscriber.writeStarted.compareAndSet(startedAt, 0L)) {
+                    // The write went through after dropStalledSubscribers gave up on it
+                    subscriber.emitter.complete();
+                    resizeSender(-1);
+                    return;
+                }
+            }
+        }
+    }
+
+    // Drop subscribers whose current write has exceeded the write timeout, and replace their threads
+    private void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long startedAt = subscriber.writeStarted.get();
+            // The compare-and-set loses to a write that has just returned. The emitter is not completed
+            // here: that would wait for the blocked write. The sender completes it once the write returns.
+            if (startedAt != 0L && now - startedAt > writeTimeoutNanos
+                    && subscriber.writeStarted.compareAndSet(startedAt, Subscriber.STALLED)) {
+                logger.debug("Dropping live update subscriber: write blocked for over {} ms",
+                        TimeUnit.NANOSECONDS.toMillis(writeTimeoutNanos));
+                subscribers.remove(subscriber);
+                stalled.increment();
+                resizeSender(1);
+            }
+        }
+    }
+
+    // Runs the pool with one extra thread per stalled write, until that write returns
+    private synchronized void resizeSender(int delta) {
+        stalledSenders += delta;
+        int size = senderThreads + stalledSenders;
+        // The maximum may never drop below the core size
+        if (delta > 0) {
+            sender.setMaximumPoolSize(size);
+            sender.setCorePoolSize(size);
+        } else {
+            sender.setCorePoolSize(size);
+            sender.setMaximumPoolSize(size);
+        }
+    }
+
+    private static Set<Long> drain(Set<Long> changed) {
+        Set<Long> drained = new HashSet<>();
+        for (Iterator<Long> it = changed.iterator(); it.hasNext(); ) {
+            drained.add(it.next());
+            it.remove();
+        }
+        return drained;
+    }
+
+    /**
+     * Open streams, buffered updates and how many were sent or dropped
+     */
+    public Map<String, Object> getStats() {
+        int buffered = 0;
+        for (Subscriber subscriber : subscribers) {
+            buffered += subscriber.pendingCount();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("subscribers", subscribers.size());
+        stats.put("maxSubscribers", maxSubscribers);
+        stats.put("buffered", buffered);
+        stats.put("sendQueue", sender.getQueue().size());
+        stats.put("senderThreads", sender.getPoolSize());
+        stats.put("sent", sent.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("stalled", stalled.sum());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    private static final class Update {
+
+        static final Update HEARTBEAT = new Update("heartbeat", 0L, null);
+
+        final String event;
+        final Long courseId;
+        final String key;
+        final Object data;
+
+        Update(String event, Long courseId, Object data) {
+            this.event = event;
+            this.courseId = courseId;
+            this.key = event + ":" + courseId;
+            this.data = data;
+        }
+    }
+
+    private final class Subscriber {
+
+        final SseEmitter emitter;
+        // Null for every course
+        final Set<Long> courseIds;
+        // Null for every event type
+        final Set<String> events;
+
+        // Marks a write that dropStalledSubscribers gave up on
+        static final long STALLED = Long.MIN_VALUE;
+
+        // System.nanoTime() when the write in progress started, 0 when none is, or STALLED
+        final AtomicLong writeStarted = new AtomicLong();
+
+        // Guarded by this; a newer update for the same key replaces the unsent one in place
+        private final LinkedHashMap<String, Update> pending = new LinkedHashMap<>();
+        private boolean overflowed;
+        private boolean sending;
+
+        Subscriber(SseEmitter emitter, Set<Long> courseIds, Set<String> events) {
+            this.emitter = emitter;
+            this.courseIds = courseIds;
+            this.events = events;
+        }
+
+        synchronized boolean offer(Update update) {
+            if (update != Update.HEARTBEAT && ((courseIds != null && !courseIds.contains(update.courseId))
+                    || (events != null && !events.contains(update.event)))) {
+                return false;
+            }
+            if (!pending.containsKey(update.key) && pending.size() >= bufferSize) {
+                Iterator<String> eldest = pending.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+                overflowed = true;
+                dropped.increment();
+            }
+            pending.put(update.key, update);
+            return true;
+        }
+
+        // Whether the caller should schedule a flush; false while one is already running
+        synchronized boolean startSending() {
+            if (sending) {
+                return false;
+            }
+            sending = true;
+            return true;
+        }
+
+        // Everything buffered so far, or null (and no longer sending) when the buffer is empty
+        synchronized List<Update> takePending() {
+            if (pending.isEmpty()) {
+                sending = false;
+                return null;
+            }
+            List<Update> batch = new ArrayList<>(pending.size() + 1);
+            if (overflowed) {
+                batch.add(new Update(RESYNC_EVENT, 0L, Map.of("reason", "updates dropped")));
+                overflowed = false;
+            }
+            batch.addAll(pending.values());
+            pending.clear();
+            return batch;
+        }
+
+        synchronized int pendingCount() {
+            return pending.size();
+        }
+    }
+
+    private static class SenderThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "live-updates-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
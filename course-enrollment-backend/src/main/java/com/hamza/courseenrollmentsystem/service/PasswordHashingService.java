@@ -0,0 +1,216 @@
+package com.hamza.courseenrollmentsystem.service;
+
+import com.hamza.courseenrollmentsystem.exception.PasswordHashingBusyException;
+import com.hamza.courseenrollmentsystem.util.LatencyHistogram;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs BCrypt hashing and verification on a small dedicated pool instead of the
+ * Tomcat request threads.
+ *
+ * The pool has a bounded queue: once password.hashing.queue-capacity requests are
+ * waiting, further logins and registrations fail at once with PasswordHashingBusyException
+ * (503) instead of tying up request threads, so catalog requests keep being served
+ * during a login storm. Hash latency, queue wait and queue depth are recorded for sizing.
+ *
+ * The BCrypt cost is calibrated at startup to the highest value whose hash stays within
+ * password.hashing.target-latency on this machine, unless password.hashing.strength fixes it.
+ * Calibration differs between hosts and restarts, so deployments with several instances
+ * should fix the cost (the stateless profile does).
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    // Never calibrate below Spring Security's default cost, nor to a cost that stalls logins
+    public static final int MIN_STRENGTH = 10;
+    public static final int MAX_STRENGTH = 16;
+
+    private final int strength;
+    private final BCryptPasswordEncoder passwordEncoder;
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutNanos;
+
+    // Time spent computing BCrypt, and time spent waiting in the queue before that
+    private final LatencyHistogram hashLatency = new LatencyHistogram();
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final AtomicInteger peakQueueDepth = new AtomicInteger();
+
+    public PasswordHashingService(@Value("${password.hashing.threads:0}") int threads,
+                                  @Value("${password.hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${password.hashing.timeout:5s}") Duration timeout,
+                                  @Value("${password.hashing.strength:0}") int strength,
+                                  @Value("${password.hashing.target-latency:250ms}") Duration targetLatency) {
+        this.strength = strength > 0 ? strength : calibrateStrength(targetLatency);
+        this.passwordEncoder = new BCryptPasswordEncoder(this.strength);
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    /**
+     * BCrypt-hash a raw password on the hashing pool
+     *
+     * @throws PasswordHashingBusyException when the pool is saturated
+     */
+    public String encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Check a raw password against a BCrypt hash on the hashing pool
+     *
+     * @throws PasswordHashingBusyException when the pool is saturated
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    // Stored passwords without a BCrypt prefix are legacy plain text
+    public boolean isBcryptHash(String storedPassword) {
+        return storedPassword.startsWith("$2a$") || storedPassword.startsWith("$2b$") || storedPassword.startsWith("$2y$");
+    }
+
+    /**
+     * Whether a stored password should be re-hashed after a successful login:
+     * legacy plain text, or a BCrypt hash weaker than the current cost. Stronger hashes are kept,
+     * so instances with different costs do not keep rewriting the same users' hashes.
+     */
+    public boolean needsRehash(String storedPassword) {
+        if (!isBcryptHash(storedPassword)) {
+            return true;
+        }
+        try {
+            // $2a$10$... - the two digits after the version are the cost
+            return Integer.parseInt(storedPassword.substring(4, 6)) < strength;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    // Time one hash at the minimum cost and extrapolate: every extra cost step doubles the work
+    private static int calibrateStrength(Duration targetLatency) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(MIN_STRENGTH);
+        probe.encode("calibration"); // warm-up
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+
+        int calibrated = MIN_STRENGTH;
+        long estimatedNanos = bestNanos;
+        while (calibrated < MAX_STRENGTH && estimatedNanos * 2 <= targetLatency.toNanos()) {
+            calibrated++;
+            estimatedNanos *= 2;
+        }
+        logger.info("BCrypt cost calibrated to {} (~{} ms per hash, target {} ms)",
+                calibrated, estimatedNanos / 1_000_000, targetLatency.toMillis());
+        return calibrated;
+    }
+
+    private <T> T submit(Callable<T> work) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                queueWait.recordNanos(startedAt - submittedAt);
+                try {
+                    return work.call();
+                } finally {
+                    hashLatency.recordNanos(System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException();
+        }
+        peakQueueDepth.accumulateAndGet(executor.getQueue().size(), Math::max);
+
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            throw new PasswordHashingBusyException();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Pool size, queue depth, rejections and latency histograms
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("strength", strength);
+        stats.put("poolSize", executor.getMaximumPoolSize());
+        stats.put("active", executor.getActiveCount());
+        stats.put("queueDepth", executor.getQueue().size());
+        stats.put("peakQueueDepth", peakQueueDepth.get());
+        stats.put("queueCapacity", executor.getQueue().size() + executor.getQueue().remainingCapacity());
+        stats.put("completed", executor.getCompletedTaskCount());
+        stats.put("rejected", rejected.sum());
+        stats.put("timedOut", timedOut.sum());
+        stats.put("hashLatency", hashLatency.toMap());
+        stats.put("queueWait", queueWait.toMap());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
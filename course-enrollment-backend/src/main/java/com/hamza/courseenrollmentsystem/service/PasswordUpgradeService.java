@@ -0,0 +1,44 @@
+package com.hamza.courseenrollmentsystem.service;
+
+import com.hamza.courseenrollmentsystem.exception.PasswordHashingBusyException;
+import com.hamza.courseenrollmentsystem.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+/**
+ * Re-hashes a password after a successful login, off the login request:
+ * legacy plain-text passwords and BCrypt hashes with a lower cost are replaced
+ * with a hash at the current cost. Best effort - a skipped upgrade is retried
+ * on the user's next login.
+ */
+@Service
+public class PasswordUpgradeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordUpgradeService.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    /**
+     * Hash rawPassword at the current cost and store it if the stored password is still storedPassword
+     */
+    @Async
+    public void upgrade(Long userId, String rawPassword, String storedPassword) {
+        String newPassword;
+        try {
+            newPassword = passwordHashingService.encode(rawPassword);
+        } catch (PasswordHashingBusyException e) {
+            logger.debug("Password upgrade for user {} skipped, hashing pool saturated", userId);
+            return;
+        }
+        if (userRepository.updatePasswordIfUnchanged(userId, storedPassword, newPassword) > 0) {
+            logger.info("Upgraded password hash of user {} to cost {}", userId, passwordHashingService.getStrength());
+        }
+    }
+}
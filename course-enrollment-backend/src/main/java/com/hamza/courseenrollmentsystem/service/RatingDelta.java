@@ -0,0 +1,72 @@
+package com.hamza.courseenrollmentsystem.service;
+
+/**
+ * Change to a course's rating aggregates caused by one user's rating going from
+ * previousRating (null when the user had not rated yet) to newRating.
+ */
+public class RatingDelta {
+
+    private final long sumDelta;
+    private final long countDelta;
+
+    // Per-star histogram change, indexed by star value 1..5
+    private final long[] starDeltas;
+
+    private RatingDelta(long sumDelta, long countDelta, long[] starDeltas) {
+        this.sumDelta = sumDelta;
+        this.countDelta = countDelta;
+        this.starDeltas = starDeltas;
+    }
+
+    public static RatingDelta of(Integer previousRating, int newRating) {
+        long[] starDeltas = new long[6];
+        if (previousRating != null && previousRating == newRating) {
+            return new RatingDelta(0, 0, starDeltas);
+        }
+
+        starDeltas[newRating]++;
+        long sumDelta = newRating;
+        long countDelta = 1;
+
+        if (previousRating != null) {
+            starDeltas[previousRating]--;
+            sumDelta -= previousRating;
+            countDelta = 0;
+        }
+        return new RatingDelta(sumDelta, countDelta, starDeltas);
+    }
+
+    // Combined change of this and other, e.g. several users' ratings on one course applied at once
+    public RatingDelta plus(RatingDelta other) {
+        long[] combined = new long[6];
+        for (int stars = 0; stars < combined.length; stars++) {
+            combined[stars] = starDeltas[stars] + other.starDeltas[stars];
+        }
+        return new RatingDelta(sumDelta + other.sumDelta, countDelta + other.countDelta, combined);
+    }
+
+    // Same rating as before: nothing to apply
+    public boolean isEmpty() {
+        if (sumDelta != 0 || countDelta != 0) {
+            return false;
+        }
+        for (long starDelta : starDeltas) {
+            if (starDelta != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getSumDelta() {
+        return sumDelta;
+    }
+
+    public long getCountDelta() {
+        return countDelta;
+    }
+
+    public long getStarDelta(int stars) {
+        return starDeltas[stars];
+    }
+}
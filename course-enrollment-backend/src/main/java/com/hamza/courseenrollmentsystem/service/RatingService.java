@@ -1,10 +1,14 @@
 package com.hamza.courseenrollmentsystem.service;
 
 import com.hamza.courseenrollmentsystem.dto.AverageRatingDto;
+import com.hamza.courseenrollmentsystem.dto.CourseRatingDto;
 import com.hamza.courseenrollmentsystem.dto.RatingDto;
+import com.hamza.courseenrollmentsystem.dto.UserIdentityDto;
 import com.hamza.courseenrollmentsystem.entity.Course;
+import com.hamza.courseenrollmentsystem.entity.CourseRatingStats;
 import com.hamza.courseenrollmentsystem.entity.Feedback;
 import com.hamza.courseenrollmentsystem.entity.User;
+import com.hamza.courseenrollmentsystem.repository.CourseRatingStatsRepository;
 import com.hamza.courseenrollmentsystem.repository.CourseRepository;
 import com.hamza.courseenrollmentsystem.repository.EnrollmentRepository;
 import com.hamza.courseenrollmentsystem.repository.FeedbackRepository;
@@ -14,10 +18,17 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class RatingService {
 
+    // Upper bound on the number of course ids accepted by one batch lookup
+    public static final int MAX_BATCH_SIZE = 1000;
+
     @Autowired
     private FeedbackRepository feedbackRepository;
 
@@ -30,29 +41,78 @@ public class RatingService {
     @Autowired
     private EnrollmentRepository enrollmentRepository;
 
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CourseRatingStatsRepository courseRatingStatsRepository;
+
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+
+    @Autowired
+    private RatingWriteBehindService ratingWriteBehindService;
+
     /**
-     * Get average rating for a course
+     * Get average rating for a course from the maintained aggregates
      */
     public AverageRatingDto getAverageRating(Long courseId) {
+        Optional<CourseRatingStats> stats = courseRatingStatsRepository.findById(courseId);
+
+        if (stats.isPresent() && stats.get().getRatingCount() > 0) {
+            return new AverageRatingDto(stats.get().getAverageRating(), "Success");
+        }
+
         if (!courseRepository.existsById(courseId)) {
             return new AverageRatingDto(null, "Course not found");
         }
 
-        Double avgRating = feedbackRepository.findAverageRatingByCourseId(courseId);
+        return new AverageRatingDto(0.0, "No ratings yet");
+    }
+
+    /**
+     * Get average rating and rating count for many courses in a single query.
+     * When no ids are given, every rated course in the catalog is returned.
+     * Requested courses without ratings are reported with an average of 0.0 and a count of 0.
+     */
+    public Map<Long, CourseRatingDto> getAverageRatings(List<Long> courseIds) {
+        Map<Long, CourseRatingDto> ratings = new LinkedHashMap<>();
+
+        if (courseIds == null || courseIds.isEmpty()) {
+            for (CourseRatingStats stats : courseRatingStatsRepository.findAll()) {
+                if (stats.getRatingCount() > 0) {
+                    ratings.put(stats.getCourseId(), toCourseRatingDto(stats));
+                }
+            }
+            return ratings;
+        }
 
-        if (avgRating == null) {
-            return new AverageRatingDto(0.0, "No ratings yet");
+        if (courseIds.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " course ids can be requested at once");
         }
 
-        return new AverageRatingDto(avgRating, "Success");
+        for (Long courseId : courseIds) {
+            ratings.put(courseId, new CourseRatingDto(courseId, 0.0, 0L));
+        }
+        for (CourseRatingStats stats : courseRatingStatsRepository.findAllById(ratings.keySet())) {
+            if (stats.getRatingCount() > 0) {
+                ratings.put(stats.getCourseId(), toCourseRatingDto(stats));
+            }
+        }
+        return ratings;
     }
 
     /**
      * Get user's rating for a course
      */
     public RatingDto getUserRating(Long courseId, String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = getUserReference(userEmail);
+
+        // A buffered rating is newer than the feedback row
+        Integer pendingRating = ratingWriteBehindService.getPendingRating(user.getId(), courseId);
+        if (pendingRating != null) {
+            return new RatingDto(pendingRating);
+        }
 
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
@@ -78,8 +138,11 @@ public class RatingService {
         }
 
         // Get user
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = getUserReference(userEmail);
+
+        if (ratingWriteBehindService.isEnabled()) {
+            return bufferRating(user, courseId, rating);
+        }
 
         // Get course
         Course course = courseRepository.findById(courseId)
@@ -90,9 +153,10 @@ public class RatingService {
             throw new RuntimeException("You must be enrolled in this course to rate it");
         }
 
-        // Find existing feedback or create new
-        Feedback feedback = feedbackRepository.findByUserAndCourse(user, course)
+        // Find existing feedback or create new, locking it so concurrent changes see each other's previous rating
+        Feedback feedback = feedbackRepository.findByUserAndCourseForUpdate(user, course)
                 .orElse(new Feedback());
+        Integer previousRating = feedback.getRating();
 
         // Update rating
         feedback.setRating(rating);
@@ -101,8 +165,70 @@ public class RatingService {
         feedback.setFeedbackDate(LocalDateTime.now());
 
         feedbackRepository.save(feedback);
+        updateRatingStats(courseId, previousRating, rating);
 
         return new RatingDto(rating);
     }
+
+    // Write-behind mode: only the enrollment check runs now; an enrollment implies the course exists
+    private RatingDto bufferRating(User user, Long courseId, Integer rating) {
+        if (!enrollmentRepository.existsByUserAndCourse(user, courseRepository.getReferenceById(courseId))) {
+            if (!courseRepository.existsById(courseId)) {
+                throw new RuntimeException("Course not found");
+            }
+            throw new RuntimeException("You must be enrolled in this course to rate it");
+        }
+        ratingWriteBehindService.accept(user.getId(), courseId, rating);
+        return new RatingDto(rating);
+    }
+
+    /**
+     * Courses whose aggregates a rebuild recomputes, see rebuildCourseStats
+     */
+    public List<Long> findCoursesToRebuild() {
+        return courseRatingStatsRepository.findCourseIdsToRebuild();
+    }
+
+    /**
+     * Recompute one course's aggregates from its feedback rows, discarding any drift.
+     * The feedback rows are locked before the stats row, in the order saveRating takes them,
+     * so a rating saved meanwhile waits for the rebuild instead of deadlocking with it.
+     */
+    @Transactional
+    public void rebuildCourseStats(Long courseId) {
+        courseRatingStatsRepository.lockFeedbackOfCourse(courseId);
+        Object[] stats = courseRatingStatsRepository.computeStatsFromFeedback(courseId).get(0);
+        courseRatingStatsRepository.replaceStats(courseId, toLong(stats[0]), toLong(stats[1]),
+                toLong(stats[2]), toLong(stats[3]), toLong(stats[4]), toLong(stats[5]), toLong(stats[6]));
+    }
+
+    private static long toLong(Object value) {
+        return ((Number) value).longValue();
+    }
+
+    // Apply the change from previousRating (null for a new rating) to newRating
+    private void updateRatingStats(Long courseId, Integer previousRating, int newRating) {
+        RatingDelta delta = RatingDelta.of(previousRating, newRating);
+        if (delta.isEmpty()) {
+            return;
+        }
+
+        courseRatingStatsRepository.applyDelta(courseId, delta.getSumDelta(), delta.getCountDelta(),
+                delta.getStarDelta(1), delta.getStarDelta(2), delta.getStarDelta(3),
+                delta.getStarDelta(4), delta.getStarDelta(5));
+        liveUpdateService.ratingChangedAfterCommit(courseId);
+    }
+
+    // Proxy for the caller resolved through the identity cache; the users row is never loaded
+    private User getUserReference(String userEmail) {
+        Long userId = userService.findIdentityByEmail(userEmail)
+                .map(UserIdentityDto::getId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return userRepository.getReferenceById(userId);
+    }
+
+    private CourseRatingDto toCourseRatingDto(CourseRatingStats stats) {
+        return new CourseRatingDto(stats.getCourseId(), stats.getAverageRating(), stats.getRatingCount());
+    }
 }
 
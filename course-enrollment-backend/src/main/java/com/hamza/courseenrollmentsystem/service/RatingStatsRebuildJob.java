@@ -0,0 +1,131 @@
+package com.hamza.courseenrollmentsystem.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Reconciles the course_rating_stats aggregates with the feedback table,
+ * once at startup and then on a nightly schedule.
+ *
+ * Courses are rebuilt one at a time, each in a short transaction that locks the course's
+ * feedback rows before its stats row (see RatingService.rebuildCourseStats), so ratings keep
+ * being saved during the rebuild. On MySQL a named lock (GET_LOCK) held for the whole run
+ * lets only one instance rebuild at a time; the others skip that run. Embedded databases
+ * serve a single process and need no lock.
+ */
+@Component
+public class RatingStatsRebuildJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingStatsRebuildJob.class);
+
+    private static final String LOCK_NAME = "course_rating_stats_rebuild";
+
+    // A course that loses a deadlock with concurrent ratings is tried again this many times
+    private static final int COURSE_ATTEMPTS = 3;
+
+    private final RatingService ratingService;
+    private final DataSource dataSource;
+
+    @Value("${rating.stats.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    public RatingStatsRebuildJob(RatingService ratingService, DataSource dataSource) {
+        this.ratingService = ratingService;
+        this.dataSource = dataSource;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(cron = "${rating.stats.rebuild-cron:0 30 3 * * *}")
+    public void rebuild() {
+        // The named lock belongs to this connection, which is held until the rebuild ends
+        try (Connection lockConnection = dataSource.getConnection()) {
+            boolean mysql = isMySql(lockConnection);
+            if (mysql && !tryLock(lockConnection)) {
+                logger.info("Rating statistics rebuild skipped: another instance is running it");
+                return;
+            }
+            try {
+                rebuildAllCourses();
+            } finally {
+                if (mysql) {
+                    unlock(lockConnection);
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            logger.error("Rating statistics rebuild failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void rebuildAllCourses() {
+        long start = System.nanoTime();
+        List<Long> courseIds = ratingService.findCoursesToRebuild();
+        int rebuilt = 0;
+        for (Long courseId : courseIds) {
+            if (rebuildCourse(courseId)) {
+                rebuilt++;
+            }
+        }
+        logger.info("Rebuilt rating statistics for {} of {} courses in {} ms", rebuilt, courseIds.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private boolean rebuildCourse(Long courseId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                ratingService.rebuildCourseStats(courseId);
+                return true;
+            } catch (TransientDataAccessException e) {
+                if (attempt >= COURSE_ATTEMPTS) {
+                    logger.warn("Rating statistics of course {} not rebuilt: {}", courseId, e.getMessage());
+                    return false;
+                }
+            } catch (DataAccessException e) {
+                // Typically the course was deleted since the ids were read
+                logger.debug("Rating statistics of course {} not rebuilt: {}", courseId, e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    private static boolean isMySql(Connection connection) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName();
+        return product.contains("MySQL") || product.contains("MariaDB");
+    }
+
+    // GET_LOCK with timeout 0 returns 1 when acquired and 0 when another session holds the lock
+    private static boolean tryLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+            statement.setString(1, LOCK_NAME);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
+    private static void unlock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            statement.setString(1, LOCK_NAME);
+            statement.executeQuery().close();
+        }
+    }
+}
@@ -0,0 +1,440 @@
+package com.hamza.courseenrollmentsystem.service;
+
+import com.hamza.courseenrollmentsystem.entity.Feedback;
+import com.hamza.courseenrollmentsystem.exception.RatingBufferFullException;
+import com.hamza.courseenrollmentsystem.repository.CourseRatingStatsRepository;
+import com.hamza.courseenrollmentsystem.util.EntityIdAllocator;
+import com.hamza.courseenrollmentsystem.util.LatencyHistogram;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for rating submissions (rating.write-behind.enabled).
+ *
+ * RatingService validates the enrollment synchronously and hands the rating over here.
+ * Only the last rating per (user, course) is kept, so a student clicking through several
+ * star values costs one row write. Every rating.write-behind.flush-interval-ms the buffer
+ * is written in one transaction: the previous ratings are read and locked in one query,
+ * feedback rows are updated and inserted with JDBC batches (uk_feedback_user_course
+ * guarantees one row per pair), and the rating aggregates get one delta per course.
+ *
+ * Flushes run on their own thread, so a slow or unavailable database never delays the
+ * application's other @Scheduled jobs. Transient failures (connection pool exhausted, database
+ * unreachable, lock timeouts, deadlocks) put the whole batch back and the next flush waits,
+ * doubling up to rating.write-behind.max-backoff; nothing is dropped for an outage. Only a
+ * batch failing for another reason is retried rating by rating, and a rating that then fails
+ * permanently (its course or user was deleted) is dropped and logged.
+ *
+ * Durability: the buffer is flushed when the application shuts down, after the web server
+ * has stopped taking requests. Once rating.write-behind.max-pending ratings are waiting or
+ * being written, new ones are refused with a 503 rather than held in memory. A crash loses at
+ * most the ratings accepted since the last successful flush.
+ */
+@Service
+public class RatingWriteBehindService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingWriteBehindService.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    // Flushes tried on shutdown, without backoff, before the remaining ratings are logged
+    private static final int SHUTDOWN_FLUSH_ATTEMPTS = 3;
+
+    private static final String UPDATE_FEEDBACK_SQL =
+            "UPDATE feedback SET rating = ?, feedback_date = ? WHERE id = ?";
+
+    private static final String INSERT_FEEDBACK_SQL =
+            "INSERT INTO feedback (id, rating, feedback_date, user_id, course_id) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityIdAllocator entityIdAllocator;
+    private final CourseRatingStatsRepository courseRatingStatsRepository;
+    private final LiveUpdateService liveUpdateService;
+
+    private final boolean enabled;
+    private final int maxPending;
+    private final long flushIntervalMillis;
+    private final long maxBackoffMillis;
+
+    private final Map<Key, PendingRating> pending = new ConcurrentHashMap<>();
+    // The batch being written, still visible to readers until it commits
+    private volatile Map<Key, PendingRating> flushing = Map.of();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private ScheduledExecutorService flusher;
+    // Consecutive flushes that failed transiently, and the earliest time of the next attempt
+    private volatile int transientFailures;
+    private volatile long retryAtNanos;
+
+    // Time from accepting a rating to the commit that wrote it
+    private final LatencyHistogram flushLag = new LatencyHistogram();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAdder transientFailureCount = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public RatingWriteBehindService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                    EntityIdAllocator entityIdAllocator,
+                                    CourseRatingStatsRepository courseRatingStatsRepository,
+                                    LiveUpdateService liveUpdateService,
+                                    @Value("${rating.write-behind.enabled:false}") boolean enabled,
+                                    @Value("${rating.write-behind.max-pending:10000}") int maxPending,
+                                    @Value("${rating.write-behind.flush-interval-ms:1000}") long flushIntervalMillis,
+                                    @Value("${rating.write-behind.max-backoff:30s}") Duration maxBackoff) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.entityIdAllocator = entityIdAllocator;
+        this.courseRatingStatsRepository = courseRatingStatsRepository;
+        this.liveUpdateService = liveUpdateService;
+        this.enabled = enabled;
+        this.maxPending = maxPending;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.maxBackoffMillis = Math.max(flushIntervalMillis, maxBackoff.toMillis());
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rating-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::scheduledFlush, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Buffer a rating whose enrollment the caller has already checked,
+     * replacing any rating of the same user and course not yet written
+     *
+     * @throws RatingBufferFullException when rating.write-behind.max-pending ratings are waiting
+     */
+    public void accept(Long userId, Long courseId, int rating) {
+        Key key = new Key(userId, courseId);
+        // Back-pressure when flushes fall behind or the database is down; replacing a buffered rating needs no room
+        if (pending.size() + flushing.size() >= maxPending && !pending.containsKey(key)) {
+            throw new RatingBufferFullException();
+        }
+        accepted.increment();
+        pending.merge(key, new PendingRating(rating, System.nanoTime(), LocalDateTime.now()),
+                (older, newer) -> {
+                    coalesced.increment();
+                    return older.replacedBy(newer);
+                });
+    }
+
+    /**
+     * The user's rating for the course if it has not been written to feedback yet, otherwise null
+     */
+    public Integer getPendingRating(Long userId, Long courseId) {
+        Key key = new Key(userId, courseId);
+        PendingRating rating = pending.get(key);
+        if (rating == null) {
+            rating = flushing.get(key);
+        }
+        return rating != null ? rating.rating : null;
+    }
+
+    // Runs on the flusher thread; skipped while backing off after a transient failure
+    private void scheduledFlush() {
+        if (transientFailures > 0 && System.nanoTime() - retryAtNanos < 0) {
+            return;
+        }
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Keep the schedule alive; the ratings are still buffered
+            logger.error("Write-behind flush failed", e);
+        }
+    }
+
+    /**
+     * Write every buffered rating. After a transient failure the batch goes back to the buffer
+     * as a whole; after any other failure it is retried rating by rating, and a rating that
+     * fails for a non-transient reason (its course or user was deleted) is dropped.
+     *
+     * @return the number of ratings written
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            // Published before draining so a rating is never invisible to getPendingRating
+            Map<Key, PendingRating> batch = new ConcurrentHashMap<>();
+            flushing = batch;
+            drainInto(batch);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            try {
+                write(batch);
+                transientFailures = 0;
+                return batch.size();
+            } catch (RuntimeException e) {
+                failedBatches.increment();
+                if (isTransient(e)) {
+                    backOff(batch.size(), e);
+                    batch.forEach(this::retryLater);
+                    return 0;
+                }
+                logger.warn("Write-behind batch of {} ratings failed, retrying one by one: {}", batch.size(), e.getMessage());
+            }
+
+            int count = 0;
+            List<Map.Entry<Key, PendingRating>> entries = new ArrayList<>(batch.entrySet());
+            for (int i = 0; i < entries.size(); i++) {
+                Map.Entry<Key, PendingRating> entry = entries.get(i);
+                try {
+                    write(Map.of(entry.getKey(), entry.getValue()));
+                    count++;
+                } catch (RuntimeException e) {
+                    if (isTransient(e)) {
+                        // The database became unavailable: keep this and the remaining ratings for later
+                        backOff(entries.size() - i, e);
+                        entries.subList(i, entries.size()).forEach(rest -> retryLater(rest.getKey(), rest.getValue()));
+                        return count;
+                    }
+                    dropped.increment();
+                    logger.error("Dropping rating {} of user {} for course {}: {}",
+                            entry.getValue().rating, entry.getKey().userId, entry.getKey().courseId, e.getMessage());
+                }
+            }
+            transientFailures = 0;
+            return count;
+        } finally {
+            flushing = Map.of();
+            flushLock.unlock();
+        }
+    }
+
+    private void drainInto(Map<Key, PendingRating> batch) {
+        for (Key key : pending.keySet()) {
+            PendingRating rating = pending.remove(key);
+            if (rating != null) {
+                batch.put(key, rating);
+            }
+        }
+    }
+
+    private void write(Map<Key, PendingRating> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Key, long[]> existing = findExisting(new ArrayList<>(batch.keySet()));
+
+            List<Object[]> updates = new ArrayList<>();
+            List<Map.Entry<Key, PendingRating>> inserts = new ArrayList<>();
+            Map<Long, RatingDelta> deltas = new LinkedHashMap<>();
+            for (Map.Entry<Key, PendingRating> entry : batch.entrySet()) {
+                Key key = entry.getKey();
+                PendingRating rating = entry.getValue();
+                long[] row = existing.get(key);
+                Integer previousRating = row != null && row[1] > 0 ? (int) row[1] : null;
+                if (row != null) {
+                    updates.add(new Object[] { rating.rating, Timestamp.valueOf(rating.ratedAt), row[0] });
+                } else {
+                    inserts.add(entry);
+                }
+                deltas.merge(key.courseId, RatingDelta.of(previousRating, rating.rating), RatingDelta::plus);
+            }
+
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_FEEDBACK_SQL, updates);
+            }
+            if (!inserts.isEmpty()) {
+                long[] ids = entityIdAllocator.nextIds(Feedback.class, inserts.size());
+                List<Integer> rows = new ArrayList<>(inserts.size());
+                for (int i = 0; i < inserts.size(); i++) {
+                    rows.add(i);
+                }
+                jdbcTemplate.batchUpdate(INSERT_FEEDBACK_SQL, rows, BATCH_SIZE, (ps, row) -> {
+                    Map.Entry<Key, PendingRating> insert = inserts.get(row);
+                    ps.setLong(1, ids[row]);
+                    ps.setInt(2, insert.getValue().rating);
+                    ps.setTimestamp(3, Timestamp.valueOf(insert.getValue().ratedAt));
+                    ps.setLong(4, insert.getKey().userId);
+                    ps.setLong(5, insert.getKey().courseId);
+                });
+            }
+
+            deltas.forEach((courseId, delta) -> {
+                if (!delta.isEmpty()) {
+                    courseRatingStatsRepository.applyDelta(courseId, delta.getSumDelta(), delta.getCountDelta(),
+                            delta.getStarDelta(1), delta.getStarDelta(2), delta.getStarDelta(3),
+                            delta.getStarDelta(4), delta.getStarDelta(5));
+                    liveUpdateService.ratingChangedAfterCommit(courseId);
+                }
+            });
+        });
+
+        long now = System.nanoTime();
+        for (PendingRating rating : batch.values()) {
+            flushLag.recordNanos(now - rating.acceptedNanos);
+        }
+        written.add(batch.size());
+    }
+
+    // Feedback id and rating (0 when null) of the pairs that already have a row, locked until commit
+    private Map<Key, long[]> findExisting(List<Key> keys) {
+        Map<Key, long[]> existing = new HashMap<>();
+        for (int from = 0; from < keys.size(); from += BATCH_SIZE) {
+            List<Key> chunk = keys.subList(from, Math.min(from + BATCH_SIZE, keys.size()));
+            StringBuilder sql = new StringBuilder("SELECT id, user_id, course_id, rating FROM feedback WHERE (user_id, course_id) IN (");
+            Object[] args = new Object[chunk.size() * 2];
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "(?, ?)" : ", (?, ?)");
+                args[2 * i] = chunk.get(i).userId;
+                args[2 * i + 1] = chunk.get(i).courseId;
+            }
+            sql.append(") FOR UPDATE");
+            jdbcTemplate.query(sql.toString(), rs -> {
+                existing.put(new Key(rs.getLong("user_id"), rs.getLong("course_id")),
+                        new long[] { rs.getLong("id"), rs.getInt("rating") });
+            }, args);
+        }
+        return existing;
+    }
+
+    // Failures that go away by themselves: retried for as long as they last, with max-pending as back-pressure
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException // includes CannotGetJdbcConnectionException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    // Called under flushLock: the next scheduled flush waits flush-interval-ms * 2^(failures - 1), up to max-backoff
+    private void backOff(int ratings, RuntimeException e) {
+        transientFailures++;
+        transientFailureCount.increment();
+        long delayMillis = flushIntervalMillis << Math.min(transientFailures - 1, 20);
+        delayMillis = Math.min(Math.max(delayMillis, flushIntervalMillis), maxBackoffMillis);
+        retryAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+        logger.warn("Write-behind flush of {} ratings failed transiently ({} in a row), retrying in {} ms: {}",
+                ratings, transientFailures, delayMillis, e.getMessage());
+    }
+
+    // Back into the buffer unless a newer rating for the pair arrived meanwhile, which then wins
+    private void retryLater(Key key, PendingRating rating) {
+        pending.merge(key, rating, (current, retried) -> retried.replacedBy(current));
+    }
+
+    /**
+     * Buffered ratings, the age of the oldest one, and how long written ratings waited
+     */
+    public Map<String, Object> getStats() {
+        long now = System.nanoTime();
+        long oldest = now;
+        for (PendingRating rating : pending.values()) {
+            oldest = Math.min(oldest, rating.acceptedNanos);
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("pending", pending.size());
+        stats.put("oldestPendingMs", (now - oldest) / 1_000_000);
+        stats.put("accepted", accepted.sum());
+        stats.put("coalesced", coalesced.sum());
+        stats.put("written", written.sum());
+        stats.put("failedBatches", failedBatches.sum());
+        stats.put("transientFailures", transientFailureCount.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("flushLag", flushLag.toMap());
+        return stats;
+    }
+
+    public LatencyHistogram getFlushLag() {
+        return flushLag;
+    }
+
+    // Runs before the DataSource is closed; ratings that still fail are logged so they can be replayed
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (flusher != null) {
+            flusher.shutdown();
+            // Let a running flush finish; flush() below waits for flushLock anyway
+            flusher.awaitTermination(30, TimeUnit.SECONDS);
+        }
+        for (int attempt = 0; attempt < SHUTDOWN_FLUSH_ATTEMPTS && !pending.isEmpty(); attempt++) {
+            flush();
+        }
+        for (Key key : pending.keySet()) {
+            PendingRating rating = pending.remove(key);
+            if (rating != null) {
+                logger.error("Rating {} of user {} for course {} could not be written before shutdown",
+                        rating.rating, key.userId, key.courseId);
+            }
+        }
+    }
+
+    private static final class Key {
+
+        final long userId;
+        final long courseId;
+
+        Key(long userId, long courseId) {
+            this.userId = userId;
+            this.courseId = courseId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && other.userId == userId && other.courseId == courseId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, courseId);
+        }
+    }
+
+    private static final class PendingRating {
+
+        final int rating;
+        // When the oldest rating this one replaced was accepted, for the flush lag
+        final long acceptedNanos;
+        final LocalDateTime ratedAt;
+
+        PendingRating(int rating, long acceptedNanos, LocalDateTime ratedAt) {
+            this.rating = rating;
+            this.acceptedNanos = acceptedNanos;
+            this.ratedAt = ratedAt;
+        }
+
+        PendingRating replacedBy(PendingRating newer) {
+            return new PendingRating(newer.rating, Math.min(acceptedNanos, newer.acceptedNanos), newer.ratedAt);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.hamza.courseenrollmentsystem.service;
+
+import com.hamza.courseenrollmentsystem.util.LatencyHistogram;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram, request count and error counts per controller mapping
+ * (HTTP method plus URI pattern, e.g. "GET /api/courses/{id}"), recorded by
+ * RequestMetricsInterceptor. Patterns rather than raw paths keep the number of
+ * series bounded.
+ */
+@Service
+public class RequestMetricsService {
+
+    private final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+    private final long startedAt = System.nanoTime();
+
+    /**
+     * Record one completed request; 4xx count as client errors, 5xx and unhandled exceptions as errors
+     */
+    public void record(String method, String uriPattern, long nanos, int status, boolean failed) {
+        EndpointMetrics metrics = endpoints.computeIfAbsent(method + " " + uriPattern,
+                key -> new EndpointMetrics(method, uriPattern));
+        metrics.latency.recordNanos(nanos);
+        if (failed || status >= 500) {
+            metrics.errors.increment();
+        } else if (status >= 400) {
+            metrics.clientErrors.increment();
+        }
+    }
+
+    // Sorted by URI pattern, then method
+    public List<EndpointMetrics> getEndpoints() {
+        List<EndpointMetrics> sorted = new ArrayList<>(endpoints.values());
+        sorted.sort(Comparator.comparing(EndpointMetrics::getUri).thenComparing(EndpointMetrics::getMethod));
+        return sorted;
+    }
+
+    /**
+     * Requests, mean rate since startup, errors and latency percentiles per endpoint
+     */
+    public List<Map<String, Object>> getStats() {
+        double uptimeSeconds = Math.max(1.0, (System.nanoTime() - startedAt) / 1e9);
+        List<Map<String, Object>> stats = new ArrayList<>();
+        for (EndpointMetrics metrics : getEndpoints()) {
+            Map<String, Object> endpoint = new LinkedHashMap<>();
+            endpoint.put("method", metrics.getMethod());
+            endpoint.put("uri", metrics.getUri());
+            endpoint.put("requests", metrics.getLatency().getCount());
+            endpoint.put("meanRatePerSecond", Math.round(metrics.getLatency().getCount() / uptimeSeconds * 1000.0) / 1000.0);
+            endpoint.put("clientErrors", metrics.getClientErrors());
+            endpoint.put("errors", metrics.getErrors());
+            endpoint.put("latency", metrics.getLatency().toMap());
+            stats.add(endpoint);
+        }
+        return stats;
+    }
+
+    public static class EndpointMetrics {
+        private final String method;
+        private final String uri;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        EndpointMetrics(String method, String uri) {
+            this.method = method;
+            this.uri = uri;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public String getUri() {
+            return uri;
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public long getClientErrors() {
+            return clientErrors.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+    }
+}
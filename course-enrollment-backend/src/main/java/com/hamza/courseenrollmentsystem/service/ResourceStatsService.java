@@ -0,0 +1,77 @@
+package com.hamza.courseenrollmentsystem.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.hamza.courseenrollmentsystem.config.JdbcPoolMetrics;
+import com.hamza.courseenrollmentsystem.util.JwtUtil;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JDBC pool and in-memory cache statistics for the admin stats and metrics endpoints
+ */
+@Service
+public class ResourceStatsService {
+
+    private final DataSource dataSource;
+    private final CacheManager cacheManager;
+    private final JwtUtil jwtUtil;
+
+    public ResourceStatsService(DataSource dataSource, CacheManager cacheManager, JwtUtil jwtUtil) {
+        this.dataSource = dataSource;
+        this.cacheManager = cacheManager;
+        this.jwtUtil = jwtUtil;
+    }
+
+    /**
+     * Active, idle and pending connections, wait and usage times per Hikari pool (main and reserve)
+     */
+    public Map<String, Map<String, Object>> getJdbcPoolStats() {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)
+                    && dataSource.unwrap(HikariDataSource.class).getMetricsTrackerFactory() instanceof JdbcPoolMetrics poolMetrics) {
+                return poolMetrics.getStats();
+            }
+        } catch (SQLException e) {
+            // Not a Hikari pool
+        }
+        return Map.of();
+    }
+
+    /**
+     * Size, hit, miss and eviction counters for every in-memory cache
+     */
+    public Map<String, Map<String, Object>> getCacheStats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof TransactionAwareCacheDecorator decorator) {
+                cache = decorator.getTargetCache();
+            }
+            if (cache instanceof CaffeineCache caffeineCache) {
+                stats.put(name, toMap(caffeineCache.getNativeCache().estimatedSize(),
+                        caffeineCache.getNativeCache().stats()));
+            }
+        }
+        stats.put("verifiedTokens", toMap(jwtUtil.getVerifiedTokenCacheSize(), jwtUtil.getVerifiedTokenCacheStats()));
+        return stats;
+    }
+
+    private Map<String, Object> toMap(long size, CacheStats stats) {
+        Map<String, Object> cacheStats = new LinkedHashMap<>();
+        cacheStats.put("size", size);
+        cacheStats.put("hits", stats.hitCount());
+        cacheStats.put("misses", stats.missCount());
+        cacheStats.put("hitRate", stats.hitRate());
+        cacheStats.put("evictions", stats.evictionCount());
+        return cacheStats;
+    }
+}
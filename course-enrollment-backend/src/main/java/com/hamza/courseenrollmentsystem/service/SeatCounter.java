@@ -0,0 +1,143 @@
+package com.hamza.courseenrollmentsystem.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free seat counter for one course.
+ *
+ * A seat is taken with a compare-and-set on {@code taken} before the enrollment row is
+ * inserted, and is handed back if that transaction rolls back. Seats freed by an
+ * unenrollment only become available once the delete has committed. All uncertain
+ * states are counted as taken, so the counter may briefly undersell but never oversells.
+ */
+public class SeatCounter {
+
+    // Capacity used for courses without a seat limit
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private volatile int capacity;
+
+    // Seats handed out, including reservations whose transaction has not finished yet
+    private final AtomicInteger taken;
+
+    // Reservations whose enrollment insert has not committed or rolled back yet
+    private final AtomicInteger pendingReservations = new AtomicInteger();
+
+    // Unenrollments whose delete has not committed or rolled back yet
+    private final AtomicInteger pendingReleases = new AtomicInteger();
+
+    // Total reservations committed since this counter was created
+    private final AtomicLong committedReservations = new AtomicLong();
+
+    public SeatCounter(int capacity, int enrolled) {
+        this.capacity = capacity;
+        this.taken = new AtomicInteger(enrolled);
+    }
+
+    /**
+     * Take a seat if one is free; the caller must later call confirmReservation or cancelReservation
+     */
+    public boolean tryReserve() {
+        pendingReservations.incrementAndGet();
+        while (true) {
+            int current = taken.get();
+            if (current >= capacity) {
+                pendingReservations.decrementAndGet();
+                return false;
+            }
+            if (taken.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Take up to seats seats at once for a bulk enrollment
+     *
+     * @return the number of seats granted, to be passed to confirmReservations or cancelReservations
+     */
+    public int tryReserve(int seats) {
+        pendingReservations.addAndGet(seats);
+        while (true) {
+            int current = taken.get();
+            int granted = Math.max(0, Math.min(seats, capacity - current));
+            if (granted == 0 || taken.compareAndSet(current, current + granted)) {
+                pendingReservations.addAndGet(granted - seats);
+                return granted;
+            }
+        }
+    }
+
+    // The enrollment insert committed: the seat stays taken
+    public void confirmReservation() {
+        confirmReservations(1);
+    }
+
+    public void confirmReservations(int seats) {
+        committedReservations.addAndGet(seats);
+        pendingReservations.addAndGet(-seats);
+    }
+
+    // The enrollment insert rolled back: give the seat back
+    public void cancelReservation() {
+        cancelReservations(1);
+    }
+
+    public void cancelReservations(int seats) {
+        taken.addAndGet(-seats);
+        pendingReservations.addAndGet(-seats);
+    }
+
+    // An enrollment delete is about to run; its seat stays taken until completeRelease
+    public void beginRelease() {
+        pendingReleases.incrementAndGet();
+    }
+
+    public void completeRelease(boolean committed) {
+        if (committed) {
+            taken.decrementAndGet();
+        }
+        pendingReleases.decrementAndGet();
+    }
+
+    // Read before querying the enrollment count passed to reconcile
+    public long reconcileMark() {
+        return committedReservations.get();
+    }
+
+    /**
+     * Reset the counter from the database.
+     * enrolled must have been read after mark was taken; reservations committed since then,
+     * and reservations or releases still in flight, are added on top so none of them is lost.
+     */
+    public void reconcile(int capacity, long enrolled, long mark) {
+        this.capacity = capacity;
+        while (true) {
+            int current = taken.get();
+            long target = enrolled
+                    + pendingReservations.get()
+                    + pendingReleases.get()
+                    + (committedReservations.get() - mark);
+            if (taken.compareAndSet(current, (int) Math.min(target, Integer.MAX_VALUE))) {
+                return;
+            }
+        }
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getTaken() {
+        return taken.get();
+    }
+
+    public int getAvailable() {
+        return Math.max(0, capacity - taken.get());
+    }
+}
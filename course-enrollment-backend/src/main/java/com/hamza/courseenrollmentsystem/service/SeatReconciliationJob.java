@@ -0,0 +1,39 @@
+package com.hamza.courseenrollmentsystem.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reconciles the in-memory seat counters with the enrollments table,
+ * once at startup and then at a fixed interval.
+ */
+@Component
+public class SeatReconciliationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatReconciliationJob.class);
+
+    private final SeatReservationService seatReservationService;
+
+    public SeatReconciliationJob(SeatReservationService seatReservationService) {
+        this.seatReservationService = seatReservationService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${enrollment.seats.reconcile-interval-ms:300000}",
+               initialDelayString = "${enrollment.seats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        try {
+            seatReservationService.reconcileAll();
+        } catch (RuntimeException e) {
+            logger.error("Seat counter reconciliation failed: {}", e.getMessage(), e);
+        }
+    }
+}
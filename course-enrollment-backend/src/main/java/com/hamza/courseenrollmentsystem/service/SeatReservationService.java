@@ -0,0 +1,246 @@
+package com.hamza.courseenrollmentsystem.service;
+
+import com.hamza.courseenrollmentsystem.dto.CourseSeatCountDto;
+import com.hamza.courseenrollmentsystem.repository.CourseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out course seats from in-memory counters so enrollments on a popular course
+ * do not serialize on a COUNT(*) and row lock. Counters are loaded on first use and
+ * reconciled with the enrollments table by SeatReconciliationJob.
+ *
+ * The counters live in this JVM only, so on their own they enforce capacity per application
+ * instance. When several instances share the database (the stateless profile), set
+ * enrollment.seats.lock-course-row: every reservation is then also checked against the committed
+ * enrollment count under a lock on the course row, which serializes enrollments per course.
+ */
+@Service
+public class SeatReservationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatReservationService.class);
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+
+    @Value("${enrollment.seats.lock-course-row:false}")
+    private boolean lockCourseRow;
+
+    private final Map<Long, SeatCounter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Reserve a seat for an enrollment being inserted in the current transaction.
+     * The seat is released again if the transaction rolls back.
+     *
+     * @return false when the course is full
+     */
+    public boolean reserveSeat(Long courseId) {
+        SeatCounter counter = getCounter(courseId);
+        if (!counter.tryReserve() || withinDatabaseCapacity(courseId, counter, 1) == 0) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    counter.confirmReservation();
+                    publishSeatCount(courseId, counter);
+                } else {
+                    counter.cancelReservation();
+                }
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Reserve up to seats seats in one step for a bulk enrollment in the current transaction
+     *
+     * @return the reservation; it may hold fewer seats than requested when the course fills up
+     */
+    public BulkReservation reserveSeats(Long courseId, int seats) {
+        SeatCounter counter = getCounter(courseId);
+        BulkReservation reservation = new BulkReservation(
+                withinDatabaseCapacity(courseId, counter, counter.tryReserve(seats)));
+        if (reservation.granted > 0) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        counter.confirmReservations(reservation.granted - reservation.unused);
+                        counter.cancelReservations(reservation.unused);
+                        publishSeatCount(courseId, counter);
+                    } else {
+                        counter.cancelReservations(reservation.granted);
+                    }
+                }
+            });
+        }
+        return reservation;
+    }
+
+    /**
+     * Free a seat for an enrollment being deleted in the current transaction, once it commits
+     */
+    public void releaseSeat(Long courseId) {
+        SeatCounter counter = getCounter(courseId);
+        counter.beginRelease();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                counter.completeRelease(status == STATUS_COMMITTED);
+                if (status == STATUS_COMMITTED) {
+                    publishSeatCount(courseId, counter);
+                }
+            }
+        });
+    }
+
+    /**
+     * Apply a capacity change made through the admin UI or the course API once the current
+     * transaction commits, so a rolled-back change never reaches the counter
+     */
+    public void updateCapacity(Long courseId, Integer capacity) {
+        afterCommit(() -> {
+            SeatCounter counter = counters.get(courseId);
+            if (counter != null) {
+                counter.setCapacity(toCapacity(capacity));
+            }
+        });
+    }
+
+    /**
+     * Drop a deleted course's counter once the current transaction commits
+     */
+    public void removeCourse(Long courseId) {
+        afterCommit(() -> counters.remove(courseId));
+    }
+
+    // Runs the action now when there is no transaction, as for the admin pages' repository calls
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // With lock-course-row, hand back the seats just reserved that the database no longer has room for
+    private int withinDatabaseCapacity(Long courseId, SeatCounter counter, int reserved) {
+        if (!lockCourseRow || reserved == 0) {
+            return reserved;
+        }
+        Long remaining;
+        try {
+            remaining = courseRepository.lockRemainingSeats(courseId);
+        } catch (RuntimeException e) {
+            counter.cancelReservations(reserved);
+            throw e;
+        }
+        int granted = remaining == null ? reserved : (int) Math.max(0, Math.min(reserved, remaining));
+        if (granted < reserved) {
+            counter.cancelReservations(reserved - granted);
+        }
+        return granted;
+    }
+
+    /**
+     * Reset every loaded counter from the current capacities and enrollment counts
+     */
+    public int reconcileAll() {
+        // Marks are taken before the count query so commits that race with it are not lost
+        Map<Long, Long> marks = new HashMap<>();
+        counters.forEach((courseId, counter) -> marks.put(courseId, counter.reconcileMark()));
+
+        List<CourseSeatCountDto> seatCounts = courseRepository.findSeatCounts();
+        Map<Long, CourseSeatCountDto> byCourse = new HashMap<>();
+        for (CourseSeatCountDto seatCount : seatCounts) {
+            byCourse.put(seatCount.getCourseId(), seatCount);
+            if (seatCount.getCapacity() != null) {
+                // Limited courses are loaded up front so the first enrollments need no query
+                counters.computeIfAbsent(seatCount.getCourseId(), id -> newCounter(seatCount));
+            }
+        }
+
+        marks.forEach((courseId, mark) -> {
+            SeatCounter counter = counters.get(courseId);
+            CourseSeatCountDto seatCount = byCourse.get(courseId);
+            if (seatCount == null) {
+                counters.remove(courseId);
+            } else if (counter != null) {
+                counter.reconcile(toCapacity(seatCount.getCapacity()), seatCount.getEnrolledCount(), mark);
+            }
+        });
+
+        logger.info("Reconciled seat counters for {} courses", counters.size());
+        return counters.size();
+    }
+
+    private SeatCounter getCounter(Long courseId) {
+        SeatCounter counter = counters.get(courseId);
+        if (counter != null) {
+            return counter;
+        }
+        // Query outside computeIfAbsent: a JDBC call inside the map's bin lock would pin a virtual thread
+        SeatCounter loaded = newCounter(courseRepository.findSeatCountById(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found")));
+        SeatCounter existing = counters.putIfAbsent(courseId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    // Taken seats include reservations still in flight, close enough for a live count
+    private void publishSeatCount(Long courseId, SeatCounter counter) {
+        int capacity = counter.getCapacity();
+        liveUpdateService.enrollmentChanged(new CourseSeatCountDto(courseId,
+                capacity == SeatCounter.UNLIMITED ? null : capacity, (long) counter.getTaken()));
+    }
+
+    private SeatCounter newCounter(CourseSeatCountDto seatCount) {
+        return new SeatCounter(toCapacity(seatCount.getCapacity()), seatCount.getEnrolledCount().intValue());
+    }
+
+    private int toCapacity(Integer capacity) {
+        return capacity != null ? capacity : SeatCounter.UNLIMITED;
+    }
+
+    /**
+     * Seats taken by reserveSeats, settled when the transaction ends
+     */
+    public static final class BulkReservation {
+
+        private final int granted;
+        // Only touched by the thread running the transaction
+        private int unused;
+
+        private BulkReservation(int granted) {
+            this.granted = granted;
+        }
+
+        public int getGranted() {
+            return granted;
+        }
+
+        // Seats whose enrollment was not inserted after all; they are handed back instead of confirmed on commit
+        public void release(int seats) {
+            unused = Math.min(granted, unused + seats);
+        }
+    }
+}
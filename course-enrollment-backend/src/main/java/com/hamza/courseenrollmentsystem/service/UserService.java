@@ -1,9 +1,13 @@
 package com.hamza.courseenrollmentsystem.service;
 
+import com.hamza.courseenrollmentsystem.config.CacheConfig;
+import com.hamza.courseenrollmentsystem.dto.UserIdentityDto;
 import com.hamza.courseenrollmentsystem.entity.User;
 import com.hamza.courseenrollmentsystem.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -14,12 +18,18 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
-    // Create a local instance instead of injecting to avoid circular dependency
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    // BCrypt runs on its own bounded pool, not on the request thread
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private PasswordUpgradeService passwordUpgradeService;
 
+    // Evicts any entry left for a previously deleted user with the same email
+    @CacheEvict(cacheNames = CacheConfig.USER_IDENTITIES, key = "#user.email")
     public User registerUser(User user) {
         // Encrypt password before saving
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHashingService.encode(user.getPassword()));
         user.setRole("STUDENT"); // default role
         return userRepository.save(user);
     }
@@ -28,13 +38,36 @@ public class UserService {
         return userRepository.findByEmail(email);
     }
 
+    /**
+     * Id and role for an email, from the bounded identity cache; unknown emails are not cached.
+     * Pair with userRepository.getReferenceById to work with the user without loading its row.
+     */
+    @Cacheable(cacheNames = CacheConfig.USER_IDENTITIES, key = "#email", unless = "#result == null")
+    public Optional<UserIdentityDto> findIdentityByEmail(String email) {
+        return userRepository.findIdentityByEmail(email);
+    }
+
     public boolean checkPassword(String rawPassword, String storedPassword) {
         // If password doesn't start with $2a$ (BCrypt prefix), it's plain text
         // This allows backward compatibility with existing plain text passwords
-        if (!storedPassword.startsWith("$2a$") && !storedPassword.startsWith("$2b$")) {
+        if (!passwordHashingService.isBcryptHash(storedPassword)) {
             return rawPassword.equals(storedPassword);
         }
         // Use BCrypt to check encrypted passwords
-        return passwordEncoder.matches(rawPassword, storedPassword);
+        return passwordHashingService.matches(rawPassword, storedPassword);
+    }
+
+    /**
+     * After a successful login, re-hash a plain-text or weaker-cost password in the background
+     */
+    public void upgradePasswordIfNeeded(User user, String rawPassword) {
+        if (!passwordHashingService.needsRehash(user.getPassword())) {
+            return;
+        }
+        try {
+            passwordUpgradeService.upgrade(user.getId(), rawPassword, user.getPassword());
+        } catch (TaskRejectedException e) {
+            // Async pool is full; upgraded on a later login
+        }
     }
 }
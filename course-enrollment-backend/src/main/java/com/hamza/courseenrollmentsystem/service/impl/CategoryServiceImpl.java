@@ -1,39 +1,50 @@
 package com.hamza.courseenrollmentsystem.service.impl;
 
+import com.hamza.courseenrollmentsystem.config.CacheConfig;
 import com.hamza.courseenrollmentsystem.dto.CategoryDto;
+import com.hamza.courseenrollmentsystem.dto.CursorPage;
 import com.hamza.courseenrollmentsystem.entity.Category;
 import com.hamza.courseenrollmentsystem.repository.CategoryRepository;
+import com.hamza.courseenrollmentsystem.service.CatalogVersion;
 import com.hamza.courseenrollmentsystem.service.CategoryService;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CatalogVersion catalogVersion;
 
-    public CategoryServiceImpl(CategoryRepository categoryRepository) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, CatalogVersion catalogVersion) {
         this.categoryRepository = categoryRepository;
+        this.catalogVersion = catalogVersion;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<CategoryDto> findAll() {
-        return categoryRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return categoryRepository.findAllDtos();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CategoryDto> findPage(long afterId, int limit) {
+        List<CategoryDto> rows = categoryRepository.findDtoPageAfter(afterId, Limit.of(limit + 1));
+        return CursorPage.fromRows(rows, limit, CategoryDto::getId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public CategoryDto findById(Long id) {
-        Category category = categoryRepository.findById(id)
+        return categoryRepository.findDtoById(id)
                 .orElseThrow(() -> new RuntimeException("Category not found with id: " + id));
-        return convertToDto(category);
     }
 
     @Override
@@ -41,29 +52,39 @@ public class CategoryServiceImpl implements CategoryService {
         Category category = new Category();
         category.setName(dto.getName());
         Category savedCategory = categoryRepository.save(category);
-        return convertToDto(savedCategory);
+        catalogVersion.bumpAfterCommit();
+        // A new category has no courses yet
+        return new CategoryDto(savedCategory.getId(), savedCategory.getName(), 0);
     }
 
+    // Cached course DTOs carry the category name, so renaming invalidates them
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.COURSES, allEntries = true),
+            @CacheEvict(cacheNames = {CacheConfig.COURSE_LISTS, CacheConfig.COURSE_PAGES}, allEntries = true)
+    })
     public CategoryDto update(Long id, CategoryDto dto) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Category not found with id: " + id));
         category.setName(dto.getName());
-        Category updatedCategory = categoryRepository.save(category);
-        return convertToDto(updatedCategory);
+        categoryRepository.save(category);
+        catalogVersion.bumpAfterCommit();
+        return categoryRepository.findDtoById(id)
+                .orElseThrow(() -> new RuntimeException("Category not found with id: " + id));
     }
 
+    // Deleting a category detaches its courses (ON DELETE SET NULL)
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.COURSES, allEntries = true),
+            @CacheEvict(cacheNames = {CacheConfig.COURSE_LISTS, CacheConfig.COURSE_PAGES}, allEntries = true)
+    })
     public void delete(Long id) {
         if (!categoryRepository.existsById(id)) {
             throw new RuntimeException("Category not found with id: " + id);
         }
         categoryRepository.deleteById(id);
-    }
-
-    private CategoryDto convertToDto(Category category) {
-        Integer courseCount = category.getCourses() != null ? category.getCourses().size() : 0;
-        return new CategoryDto(category.getId(), category.getName(), courseCount);
+        catalogVersion.bumpAfterCommit();
     }
 }
 
@@ -1,16 +1,25 @@
 package com.hamza.courseenrollmentsystem.service.impl;
 
+import com.hamza.courseenrollmentsystem.config.CacheConfig;
 import com.hamza.courseenrollmentsystem.dto.CourseDto;
+import com.hamza.courseenrollmentsystem.dto.CursorPage;
 import com.hamza.courseenrollmentsystem.entity.Category;
 import com.hamza.courseenrollmentsystem.entity.Course;
 import com.hamza.courseenrollmentsystem.repository.CategoryRepository;
 import com.hamza.courseenrollmentsystem.repository.CourseRepository;
+import com.hamza.courseenrollmentsystem.service.CatalogVersion;
 import com.hamza.courseenrollmentsystem.service.CourseService;
+import com.hamza.courseenrollmentsystem.service.SeatReservationService;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
 
 @Service
 @Transactional
@@ -18,63 +27,104 @@ public class CourseServiceImpl implements CourseService {
 
     private final CourseRepository courseRepository;
     private final CategoryRepository categoryRepository;
+    private final SeatReservationService seatReservationService;
+    private final CatalogVersion catalogVersion;
 
-    public CourseServiceImpl(CourseRepository courseRepository, CategoryRepository categoryRepository) {
+    public CourseServiceImpl(CourseRepository courseRepository, CategoryRepository categoryRepository,
+                             SeatReservationService seatReservationService, CatalogVersion catalogVersion) {
         this.courseRepository = courseRepository;
         this.categoryRepository = categoryRepository;
+        this.seatReservationService = seatReservationService;
+        this.catalogVersion = catalogVersion;
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.COURSE_LISTS, key = "'all'")
     public List<CourseDto> findAll() {
-        return courseRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return courseRepository.findAllDtos();
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.COURSE_PAGES, key = "#afterId + ':' + #limit")
+    public CursorPage<CourseDto> findPage(long afterId, int limit) {
+        List<CourseDto> rows = courseRepository.findDtoPageAfter(afterId, Limit.of(limit + 1));
+        return CursorPage.fromRows(rows, limit, CourseDto::getId);
+    }
+
+    /**
+     * Keyset page of the courses whose title or description contains query, ignoring case.
+     * Not cached: every search term would take a cache entry.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CourseDto> search(String query, long afterId, int limit) {
+        String pattern = "%" + query.toLowerCase(Locale.ROOT)
+                .replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+        List<CourseDto> rows = courseRepository.searchDtoPageAfter(pattern, afterId, Limit.of(limit + 1));
+        return CursorPage.fromRows(rows, limit, CourseDto::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.COURSES, key = "#id")
     public CourseDto findById(Long id) {
-        Course course = courseRepository.findById(id)
+        return courseRepository.findDtoById(id)
                 .orElseThrow(() -> new RuntimeException("Course not found with id: " + id));
-        return convertToDto(course);
     }
 
     @Override
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.COURSES, key = "#result.id"),
+            evict = @CacheEvict(cacheNames = {CacheConfig.COURSE_LISTS, CacheConfig.COURSE_PAGES}, allEntries = true)
+    )
     public CourseDto create(CourseDto dto) {
         Course course = new Course();
         mapDtoToEntity(dto, course);
         Course savedCourse = courseRepository.save(course);
+        catalogVersion.bumpAfterCommit();
         return convertToDto(savedCourse);
     }
 
     @Override
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.COURSES, key = "#id"),
+            evict = @CacheEvict(cacheNames = {CacheConfig.COURSE_LISTS, CacheConfig.COURSE_PAGES}, allEntries = true)
+    )
     public CourseDto update(Long id, CourseDto dto) {
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Course not found with id: " + id));
         mapDtoToEntity(dto, course);
         Course updatedCourse = courseRepository.save(course);
+        seatReservationService.updateCapacity(id, updatedCourse.getCapacity());
+        catalogVersion.bumpAfterCommit();
         return convertToDto(updatedCourse);
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.COURSES, key = "#id"),
+            @CacheEvict(cacheNames = {CacheConfig.COURSE_LISTS, CacheConfig.COURSE_PAGES}, allEntries = true)
+    })
     public void delete(Long id) {
         if (!courseRepository.existsById(id)) {
             throw new RuntimeException("Course not found with id: " + id);
         }
         courseRepository.deleteById(id);
+        seatReservationService.removeCourse(id);
+        catalogVersion.bumpAfterCommit();
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.COURSE_LISTS, key = "'category:' + #categoryId")
     public List<CourseDto> findByCategoryId(Long categoryId) {
-        return courseRepository.findAll().stream()
-                .filter(course -> course.getCategory() != null && course.getCategory().getId().equals(categoryId))
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return courseRepository.findByCategoryId(categoryId);
     }
 
-    private CourseDto convertToDto(Course course) {
+    // Static and public so the mapping can be benchmarked on its own (src/jmh/java)
+    public static CourseDto convertToDto(Course course) {
         String categoryName = course.getCategory() != null ? course.getCategory().getName() : null;
         Long categoryId = course.getCategory() != null ? course.getCategory().getId() : null;
 
@@ -84,7 +134,8 @@ public class CourseServiceImpl implements CourseService {
                 course.getDescription(),
                 course.getInstructorApiId(),
                 categoryId,
-                categoryName
+                categoryName,
+                course.getCapacity()
         );
     }
 
@@ -92,6 +143,7 @@ public class CourseServiceImpl implements CourseService {
         course.setTitle(dto.getTitle());
         course.setDescription(dto.getDescription());
         course.setInstructorApiId(dto.getInstructorApiId());
+        course.setCapacity(dto.getCapacity());
 
         if (dto.getCategoryId() != null) {
             Category category = categoryRepository.findById(dto.getCategoryId())
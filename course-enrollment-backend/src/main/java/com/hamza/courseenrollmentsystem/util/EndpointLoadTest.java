@@ -0,0 +1,93 @@
+package com.hamza.courseenrollmentsystem.util;
+
+import com.hamza.courseenrollmentsystem.util.LoadTestSupport.EndpointStats;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop HTTP load test against a running instance, for comparing thread modes
+ * (e.g. default vs. the virtual-threads profile) on the catalog and enrollment endpoints.
+ *
+ * Each client thread loops until the deadline, picking a request from the mix:
+ * 60% GET /api/courses, 20% GET /api/courses/{id}, 20% an enroll or unenroll of a random
+ * student/course pair. Reports throughput, latency percentiles and distribution, status codes
+ * and errors per endpoint.
+ * A 409 on enroll counts as success; any 5xx or I/O failure is an error.
+ *
+ * Usage: EndpointLoadTest --base-url=http://localhost:8080 --clients=200 --duration=30
+ *                         --warmup=5 --students=4-43 --courses=1-3
+ */
+public class EndpointLoadTest {
+
+    private static final String LIST_COURSES = "GET /api/courses";
+    private static final String GET_COURSE = "GET /api/courses/{id}";
+    private static final String ENROLL = "POST enroll";
+    private static final String UNENROLL = "DELETE unenroll";
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = LoadTestSupport.parseOptions(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        int clients = Integer.parseInt(options.getOrDefault("clients", "200"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        long[] students = parseRange(options.getOrDefault("students", "4-43"));
+        long[] courses = parseRange(options.getOrDefault("courses", "1-3"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        System.out.println("=== Endpoint Load Test ===");
+        System.out.println("Target: " + baseUrl + ", clients: " + clients
+                + ", duration: " + durationSeconds + " s (+" + warmupSeconds + " s warm-up)");
+
+        run(client, baseUrl, clients, warmupSeconds, students, courses);
+        Map<String, EndpointStats> results = run(client, baseUrl, clients, durationSeconds, students, courses);
+        LoadTestSupport.report(results, durationSeconds);
+    }
+
+    private static Map<String, EndpointStats> run(HttpClient client, String baseUrl, int clients, int seconds,
+                                                  long[] students, long[] courses) throws InterruptedException {
+        Map<String, EndpointStats> results = LoadTestSupport.newResults(LIST_COURSES, GET_COURSE, ENROLL, UNENROLL);
+        LoadTestSupport.runClients(clients, seconds, deadline -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int pick = random.nextInt(100);
+            long courseId = random.nextLong(courses[0], courses[1] + 1);
+            if (pick < 60) {
+                send(client, results.get(LIST_COURSES),
+                        HttpRequest.newBuilder(URI.create(baseUrl + "/api/courses")).GET());
+            } else if (pick < 80) {
+                send(client, results.get(GET_COURSE),
+                        HttpRequest.newBuilder(URI.create(baseUrl + "/api/courses/" + courseId)).GET());
+            } else {
+                long studentId = random.nextLong(students[0], students[1] + 1);
+                String path = baseUrl + "/api/students/" + studentId;
+                if (random.nextBoolean()) {
+                    send(client, results.get(ENROLL), HttpRequest.newBuilder(
+                            URI.create(path + "/enroll/" + courseId)).POST(HttpRequest.BodyPublishers.noBody()));
+                } else {
+                    send(client, results.get(UNENROLL), HttpRequest.newBuilder(
+                            URI.create(path + "/unenroll/" + courseId)).DELETE());
+                }
+            }
+        });
+        return results;
+    }
+
+    // Only a 5xx counts as an error here
+    private static void send(HttpClient client, EndpointStats stats, HttpRequest.Builder request) {
+        LoadTestSupport.send(client, stats, status -> status < 500, request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    // "4-43" -> {4, 43}
+    private static long[] parseRange(String range) {
+        String[] bounds = range.split("-");
+        return new long[] { Long.parseLong(bounds[0]), Long.parseLong(bounds[bounds.length - 1]) };
+    }
+}
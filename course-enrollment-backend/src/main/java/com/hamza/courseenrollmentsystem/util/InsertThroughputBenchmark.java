@@ -0,0 +1,143 @@
+package com.hamza.courseenrollmentsystem.util;
+
+import com.hamza.courseenrollmentsystem.CourseEnrollmentSystemApplication;
+import com.hamza.courseenrollmentsystem.entity.Course;
+import com.hamza.courseenrollmentsystem.entity.Enrollment;
+import com.hamza.courseenrollmentsystem.entity.User;
+import com.hamza.courseenrollmentsystem.repository.CourseRepository;
+import com.hamza.courseenrollmentsystem.repository.EnrollmentRepository;
+import com.hamza.courseenrollmentsystem.repository.UserRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Measures JPA insert throughput for users and enrollments.
+ *
+ * Boots the application on a random port, persists benchmark.rows users and one
+ * enrollment per user through the repositories (saveAll in a single transaction) and
+ * prints rows per second for each entity. Accepts the usual Spring arguments, e.g.
+ * --benchmark.rows=5000
+ *
+ * Runs on the in-memory H2 database of the loadtest profile (mvn -Ploadtest puts H2 on the
+ * classpath). To measure a real database instead, pass --benchmark.use-configured-datasource=true
+ * with the usual --spring.datasource.* arguments, preferably for a scratch database. The users get
+ * a BCrypt hash of an unguessable password, and every row of the run is deleted at the end.
+ */
+public class InsertThroughputBenchmark {
+
+    private static final String USE_CONFIGURED_DATASOURCE = "benchmark.use-configured-datasource";
+
+    public static void main(String[] args) {
+        boolean configuredDatasource = Boolean.parseBoolean(
+                new SimpleCommandLinePropertySource(args).getProperty(USE_CONFIGURED_DATASOURCE));
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(CourseEnrollmentSystemApplication.class)
+                .properties("server.port=0");
+        if (!configuredDatasource) {
+            builder.profiles("loadtest");
+        }
+
+        try (ConfigurableApplicationContext context = builder.run(args)) {
+
+            int rows = context.getEnvironment().getProperty("benchmark.rows", Integer.class, 5000);
+            UserRepository userRepository = context.getBean(UserRepository.class);
+            CourseRepository courseRepository = context.getBean(CourseRepository.class);
+            EnrollmentRepository enrollmentRepository = context.getBean(EnrollmentRepository.class);
+            TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+            String runId = Long.toString(System.currentTimeMillis(), 36);
+            // One hash for every user; hashing is not what is measured, and nobody knows the password
+            String passwordHash = context.getBean(PasswordEncoder.class).encode(UUID.randomUUID().toString());
+            List<Long> courseIds = new ArrayList<>();
+
+            try {
+                // Warm-up round so class loading and connection setup are not measured
+                insert(transactionTemplate, userRepository, courseRepository, enrollmentRepository,
+                        runId + "w", Math.min(rows, 500), passwordHash, courseIds);
+
+                long[] nanos = insert(transactionTemplate, userRepository, courseRepository, enrollmentRepository,
+                        runId, rows, passwordHash, courseIds);
+
+                System.out.println();
+                System.out.println("=== Insert Throughput ===");
+                System.out.printf("Users:       %d rows in %.2f s (%.0f rows/s)%n", rows, nanos[0] / 1e9, rows / (nanos[0] / 1e9));
+                System.out.printf("Enrollments: %d rows in %.2f s (%.0f rows/s)%n", rows, nanos[1] / 1e9, rows / (nanos[1] / 1e9));
+            } finally {
+                int deleted = cleanUp(jdbcTemplate, runId, courseIds);
+                System.out.printf("Deleted %d benchmark rows%n", deleted);
+            }
+        }
+    }
+
+    private static long[] insert(TransactionTemplate transactionTemplate,
+                                 UserRepository userRepository,
+                                 CourseRepository courseRepository,
+                                 EnrollmentRepository enrollmentRepository,
+                                 String runId,
+                                 int rows,
+                                 String passwordHash,
+                                 List<Long> courseIds) {
+        Course course = transactionTemplate.execute(status -> {
+            Course benchmarkCourse = new Course();
+            benchmarkCourse.setTitle("Insert benchmark " + runId);
+            return courseRepository.save(benchmarkCourse);
+        });
+        courseIds.add(course.getId());
+
+        List<User> users = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            User user = new User();
+            user.setUsername("bench-" + runId + "-" + i);
+            user.setEmail("bench-" + runId + "-" + i + "@example.com");
+            user.setPassword(passwordHash);
+            user.setRole("STUDENT");
+            users.add(user);
+        }
+
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.saveAll(users);
+            userRepository.flush();
+        });
+        long userNanos = System.nanoTime() - start;
+
+        List<Enrollment> enrollments = new ArrayList<>(rows);
+        LocalDateTime now = LocalDateTime.now();
+        for (User user : users) {
+            Enrollment enrollment = new Enrollment();
+            enrollment.setUser(user);
+            enrollment.setCourse(course);
+            enrollment.setEnrollmentDate(now);
+            enrollments.add(enrollment);
+        }
+
+        start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            enrollmentRepository.saveAll(enrollments);
+            enrollmentRepository.flush();
+        });
+        long enrollmentNanos = System.nanoTime() - start;
+
+        return new long[] { userNanos, enrollmentNanos };
+    }
+
+    // Enrollments of the run's courses, the courses, then the run's users (emails bench-{runId}...)
+    private static int cleanUp(JdbcTemplate jdbcTemplate, String runId, List<Long> courseIds) {
+        int deleted = 0;
+        for (Long courseId : courseIds) {
+            deleted += jdbcTemplate.update("DELETE FROM enrollments WHERE course_id = ?", courseId);
+            deleted += jdbcTemplate.update("DELETE FROM courses WHERE id = ?", courseId);
+        }
+        deleted += jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", "bench-" + runId + "%");
+        return deleted;
+    }
+}
@@ -1,28 +1,67 @@
 package com.hamza.courseenrollmentsystem.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseCookie;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret:mySecretKeyForJWTTokenGenerationThatNeedsToBeVeryLongForHS256Algorithm}")
-    private String secret;
-
-    @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
-    private Long expiration;
+    // Cookie carrying the token for browser pages in stateless mode; follows the session cookie settings
+    public static final String ACCESS_TOKEN_COOKIE = "access_token";
+
+    private final long expiration;
+    private final boolean cookieSecure;
+    private final String cookieSameSite;
+
+    // Derived once from jwt.secret; both are immutable and thread-safe
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    // Recently verified tokens and their claims, each entry dropped when its token expires; null when disabled
+    private final Cache<String, Claims> verifiedTokens;
+
+    public JwtUtil(@Value("${jwt.secret:mySecretKeyForJWTTokenGenerationThatNeedsToBeVeryLongForHS256Algorithm}") String secret,
+                   @Value("${jwt.expiration:86400000}") long expiration, // 24 hours in milliseconds
+                   @Value("${jwt.verified-cache.maximum-size:10000}") long verifiedCacheMaximumSize,
+                   @Value("${server.servlet.session.cookie.secure:true}") boolean cookieSecure,
+                   @Value("${server.servlet.session.cookie.same-site:none}") String cookieSameSite) {
+        this.expiration = expiration;
+        this.cookieSecure = cookieSecure;
+        this.cookieSameSite = cookieSameSite;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.verifiedTokens = verifiedCacheMaximumSize > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(verifiedCacheMaximumSize)
+                        .expireAfter(new TokenExpiry())
+                        .recordStats()
+                        .build()
+                : null;
+    }
 
     // Generate token with email and role
     public String generateToken(String email, String role, Long userId) {
@@ -41,16 +80,10 @@ public class JwtUtil {
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    // Get signing key
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
     // Extract email from token
     public String extractEmail(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -77,29 +110,100 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
-    // Extract all claims
+    // Extract all claims: verified once, then served from the cache until the token expires
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        if (verifiedTokens == null) {
+            return parser.parseSignedClaims(token).getPayload();
+        }
+        Claims claims = verifiedTokens.getIfPresent(token);
+        if (claims != null && !isExpired(claims)) {
+            return claims;
+        }
+        // Throws for a bad signature, a malformed token or an expired token; those are never cached
+        claims = parser.parseSignedClaims(token).getPayload();
+        verifiedTokens.put(token, claims);
+        return claims;
+    }
+
+    // Verify signature and expiry once and return the claims, or empty for any invalid token
+    public Optional<Claims> parseValidClaims(String token) {
+        try {
+            return Optional.of(extractAllClaims(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    // HttpOnly cookie holding the token, valid as long as the token itself
+    public ResponseCookie createTokenCookie(String token) {
+        return ResponseCookie.from(ACCESS_TOKEN_COOKIE, token)
+                .httpOnly(true)
+                .secure(cookieSecure)
+                .sameSite(cookieSameSite)
+                .path("/")
+                .maxAge(Duration.ofMillis(expiration))
+                .build();
+    }
+
+    // Expired cookie that removes the token cookie on logout
+    public ResponseCookie clearTokenCookie() {
+        return ResponseCookie.from(ACCESS_TOKEN_COOKIE, "")
+                .httpOnly(true)
+                .secure(cookieSecure)
+                .sameSite(cookieSameSite)
+                .path("/")
+                .maxAge(0)
+                .build();
     }
 
     // Check if token is expired
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private static boolean isExpired(Claims claims) {
+        Date expirationDate = claims.getExpiration();
+        return expirationDate != null && expirationDate.getTime() <= System.currentTimeMillis();
     }
 
-    // Validate token
+    // Validate token: one parse covers signature, expiry and subject
     public Boolean validateToken(String token, String email) {
-        final String extractedEmail = extractEmail(token);
-        return (extractedEmail.equals(email) && !isTokenExpired(token));
+        return parseValidClaims(token)
+                .map(claims -> email.equals(claims.getSubject()) && !isExpired(claims))
+                .orElse(false);
     }
 
     // Validate token with UserDetails
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String email = extractEmail(token);
-        return (email.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(token, userDetails.getUsername());
+    }
+
+    // Hit/miss counts of the verified-token cache, for monitoring
+    public CacheStats getVerifiedTokenCacheStats() {
+        return verifiedTokens != null ? verifiedTokens.stats() : CacheStats.empty();
+    }
+
+    public long getVerifiedTokenCacheSize() {
+        return verifiedTokens != null ? verifiedTokens.estimatedSize() : 0;
+    }
+
+    // Keeps each verified token only until its exp claim
+    private static class TokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            Date expirationDate = claims.getExpiration();
+            if (expirationDate == null) {
+                return Long.MAX_VALUE;
+            }
+            long remainingMillis = expirationDate.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
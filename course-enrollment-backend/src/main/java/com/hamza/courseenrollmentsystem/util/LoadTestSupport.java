@@ -0,0 +1,163 @@
+package com.hamza.courseenrollmentsystem.util;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntPredicate;
+import java.util.function.LongConsumer;
+
+/**
+ * Option parsing, closed-loop client threads and per-endpoint reporting shared by the HTTP load tests
+ */
+final class LoadTestSupport {
+
+    private LoadTestSupport() {
+    }
+
+    // "--name=value" arguments; anything else is ignored
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    // Empty statistics for each endpoint, reported in the given order
+    static Map<String, EndpointStats> newResults(String... endpoints) {
+        Map<String, EndpointStats> results = new LinkedHashMap<>();
+        for (String endpoint : endpoints) {
+            results.put(endpoint, new EndpointStats());
+        }
+        return results;
+    }
+
+    /**
+     * Run client threads that each call iteration with the deadline until it passes,
+     * and wait for all of them to finish
+     */
+    static void runClients(int clients, int seconds, LongConsumer iteration) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        CountDownLatch done = new CountDownLatch(clients);
+        for (int c = 0; c < clients; c++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        iteration.accept(deadline);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "load-client-" + c);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+    }
+
+    /**
+     * Send one request and record its latency and status; a status rejected by expected or an
+     * I/O failure counts as an error. Returns null when the request failed.
+     */
+    static <T> HttpResponse<T> send(HttpClient client, EndpointStats stats, IntPredicate expected,
+                                    HttpRequest.Builder request, HttpResponse.BodyHandler<T> bodyHandler) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<T> response = client.send(request.timeout(Duration.ofSeconds(30)).build(), bodyHandler);
+            stats.latency.recordNanos(System.nanoTime() - start);
+            stats.status(response.statusCode());
+            if (!expected.test(response.statusCode())) {
+                stats.errors.increment();
+            }
+            return response;
+        } catch (Exception e) {
+            stats.latency.recordNanos(System.nanoTime() - start);
+            stats.status(-1);
+            stats.errors.increment();
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }
+    }
+
+    // Throughput, latency percentiles, errors, then status codes and latency distribution per endpoint
+    static void report(Map<String, EndpointStats> results, int durationSeconds) {
+        System.out.println();
+        System.out.printf("%-42s %9s %9s %9s %9s %9s %9s %9s %9s %8s %7s%n", "Endpoint", "Requests", "Req/s",
+                "mean ms", "p50 ms", "p90 ms", "p99 ms", "p999 ms", "max ms", "Errors", "Err %");
+        results.forEach((name, stats) -> {
+            long requests = stats.latency.getCount();
+            long errors = stats.errors.sum();
+            System.out.printf("%-42s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f %8d %7.2f%n",
+                    name,
+                    requests,
+                    requests / (double) durationSeconds,
+                    stats.latency.getMeanMillis(),
+                    stats.latency.getPercentileMillis(0.50),
+                    stats.latency.getPercentileMillis(0.90),
+                    stats.latency.getPercentileMillis(0.99),
+                    stats.latency.getPercentileMillis(0.999),
+                    stats.latency.getMaxMillis(),
+                    errors,
+                    requests == 0 ? 0.0 : errors * 100.0 / requests);
+        });
+
+        results.forEach((name, stats) -> {
+            System.out.println();
+            Map<String, Long> statuses = new TreeMap<>();
+            stats.statuses.forEach((status, count) -> statuses.put(status < 0 ? "I/O error" : status.toString(), count.sum()));
+            System.out.println(name + "  " + statuses);
+            printDistribution(stats.latency);
+        });
+    }
+
+    // One bar per power-of-two latency range, scaled to the largest range
+    private static void printDistribution(LatencyHistogram latency) {
+        long[] powers = latency.getPowerOfTwoCounts();
+        long total = latency.getCount();
+        if (total == 0) {
+            return;
+        }
+        // Everything under ~1 ms (2^10 us) goes in the first row
+        long[] rows = new long[powers.length];
+        int first = powers.length;
+        int last = 10;
+        for (int k = 0; k < powers.length; k++) {
+            int row = Math.max(k, 10);
+            rows[row] += powers[k];
+            if (powers[k] > 0) {
+                first = Math.min(first, row);
+                last = Math.max(last, row);
+            }
+        }
+        long largest = 0;
+        for (long count : rows) {
+            largest = Math.max(largest, count);
+        }
+        for (int row = first; row <= last; row++) {
+            int width = (int) Math.round(rows[row] * 50.0 / largest);
+            System.out.printf("  < %9.1f ms %9d %6.2f%% %s%n", (1L << row) / 1_000.0, rows[row],
+                    rows[row] * 100.0 / total, "#".repeat(width));
+        }
+    }
+
+    static final class EndpointStats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+        final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        void status(int status) {
+            statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        }
+    }
+}
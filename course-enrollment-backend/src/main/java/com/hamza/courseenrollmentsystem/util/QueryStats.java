@@ -0,0 +1,130 @@
+package com.hamza.courseenrollmentsystem.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * JDBC statements, rows and database time recorded on the current thread between
+ * start() and close(), fed by QueryStatsDataSource.
+ *
+ * Statements are also counted by shape (the SQL with literals replaced by ?), so the same
+ * statement repeated many times within one scope - typically a lazy association loaded
+ * once per parent row, i.e. N+1 - shows up in getRepeatedStatements(). Scopes may nest;
+ * every open scope on the thread records. A scope belongs to the thread that started it.
+ */
+public class QueryStats implements AutoCloseable {
+
+    private static final ThreadLocal<List<QueryStats>> ACTIVE = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+
+    private int statements;
+    private long rows;
+    private long nanos;
+    private final Map<String, Integer> shapes = new LinkedHashMap<>();
+
+    private QueryStats() {
+    }
+
+    /**
+     * Start recording on the current thread; close the returned scope to stop
+     */
+    public static QueryStats start() {
+        List<QueryStats> active = ACTIVE.get();
+        if (active == null) {
+            active = new ArrayList<>(2);
+            ACTIVE.set(active);
+        }
+        QueryStats stats = new QueryStats();
+        active.add(stats);
+        return stats;
+    }
+
+    public static boolean isRecording() {
+        return ACTIVE.get() != null;
+    }
+
+    // One executed statement (or batch); rows are the update count, result set rows are added as they are read
+    public static void recordStatement(String shape, long nanos, long rows) {
+        List<QueryStats> active = ACTIVE.get();
+        if (active == null) {
+            return;
+        }
+        for (QueryStats stats : active) {
+            stats.statements++;
+            stats.rows += rows;
+            stats.nanos += nanos;
+            stats.shapes.merge(shape, 1, Integer::sum);
+        }
+    }
+
+    public static void recordRows(long rows) {
+        List<QueryStats> active = ACTIVE.get();
+        if (active == null) {
+            return;
+        }
+        for (QueryStats stats : active) {
+            stats.rows += rows;
+        }
+    }
+
+    // Plain Statements inline their values; prepared statements already have ? placeholders
+    public static String shapeOf(String sql) {
+        return NUMBER_LITERAL.matcher(STRING_LITERAL.matcher(sql).replaceAll("?")).replaceAll("?");
+    }
+
+    @Override
+    public void close() {
+        List<QueryStats> active = ACTIVE.get();
+        if (active != null) {
+            active.remove(this);
+            if (active.isEmpty()) {
+                ACTIVE.remove();
+            }
+        }
+    }
+
+    public int getStatementCount() {
+        return statements;
+    }
+
+    public long getRowCount() {
+        return rows;
+    }
+
+    public double getDbTimeMillis() {
+        return nanos / 1_000_000.0;
+    }
+
+    // Statement shape -> executions, in first-execution order
+    public Map<String, Integer> getStatements() {
+        return shapes;
+    }
+
+    /**
+     * Shapes executed at least minExecutions times - likely N+1 when minExecutions is more than a few
+     */
+    public Map<String, Integer> getRepeatedStatements(int minExecutions) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapes.forEach((shape, count) -> {
+            if (count >= minExecutions) {
+                repeated.put(shape, count);
+            }
+        });
+        return repeated;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder summary = new StringBuilder()
+                .append(statements).append(" statements, ")
+                .append(rows).append(" rows, ")
+                .append(String.format("%.2f", getDbTimeMillis())).append(" ms DB");
+        shapes.forEach((shape, count) -> summary.append("\n  ").append(count).append("x ").append(shape));
+        return summary.toString();
+    }
+}
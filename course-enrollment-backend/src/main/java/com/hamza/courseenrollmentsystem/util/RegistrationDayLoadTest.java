@@ -0,0 +1,251 @@
+package com.hamza.courseenrollmentsystem.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hamza.courseenrollmentsystem.CourseEnrollmentSystemApplication;
+import com.hamza.courseenrollmentsystem.service.PasswordHashingService;
+import com.hamza.courseenrollmentsystem.service.RatingStatsRebuildJob;
+import com.hamza.courseenrollmentsystem.service.SeatReconciliationJob;
+import com.hamza.courseenrollmentsystem.util.LoadTestSupport.EndpointStats;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Registration-day load test: boots the application against an in-memory H2 database
+ * (the loadtest profile), seeds it at scale and drives student sessions over HTTP.
+ *
+ * Seeded: --students accounts sharing one password, --courses courses spread over
+ * --categories categories (optional --capacity per course) and --prior-enrollments
+ * existing enrollments per student, half of them rated. Seeding uses JDBC batches, then
+ * rating statistics and seat counters are rebuilt as they would be at startup, so seeded
+ * enrollments take up capacity.
+ *
+ * Each client thread runs sessions back to back until the deadline, like a student
+ * arriving on registration day: POST /api/auth/login, GET /api/courses once or twice, then
+ * 1..--enrolls-per-session enrollments, each followed by a rating of that course.
+ * Reports throughput, latency percentiles and distribution, status codes and errors per
+ * endpoint. A 409 on enroll (already enrolled, course full) is expected; any other
+ * non-2xx status or I/O failure counts as an error.
+ *
+ * The server and the clients share this JVM and its CPUs, so absolute numbers are lower than
+ * on a dedicated host; use it to compare changes. Run with
+ *   mvn -Ploadtest compile exec:exec -Dloadtest.args="--clients=500 --duration=60"
+ * Other --spring.* or application properties (e.g. --spring.profiles.include=virtual-threads,
+ * --password.hashing.strength=10) are passed on to the application.
+ *
+ * Usage: RegistrationDayLoadTest --students=5000 --courses=500 --categories=20
+ *        --prior-enrollments=2 --capacity=0 --clients=200 --duration=30 --warmup=10
+ *        --enrolls-per-session=3
+ */
+public class RegistrationDayLoadTest {
+
+    private static final String PASSWORD = "registration-day";
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    private static final String LOGIN = "POST /api/auth/login";
+    private static final String LIST_COURSES = "GET /api/courses";
+    private static final String ENROLL = "POST /api/students/{id}/enroll/{courseId}";
+    private static final String RATE = "POST /api/courses/{id}/rating";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = LoadTestSupport.parseOptions(args);
+        int students = Integer.parseInt(options.getOrDefault("students", "5000"));
+        int courses = Integer.parseInt(options.getOrDefault("courses", "500"));
+        int categories = Integer.parseInt(options.getOrDefault("categories", "20"));
+        int priorEnrollments = Integer.parseInt(options.getOrDefault("prior-enrollments", "2"));
+        int capacity = Integer.parseInt(options.getOrDefault("capacity", "0"));
+        int clients = Integer.parseInt(options.getOrDefault("clients", "200"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int enrollsPerSession = Integer.parseInt(options.getOrDefault("enrolls-per-session", "3"));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CourseEnrollmentSystemApplication.class)
+                .profiles("loadtest")
+                .run(args)) {
+
+            long seedStart = System.nanoTime();
+            seed(context, students, courses, categories, priorEnrollments, capacity);
+            System.out.println();
+            System.out.println("=== Registration Day Load Test ===");
+            System.out.printf("Seeded %d students, %d courses, %d categories, %d enrollments in %.1f s%n",
+                    students, courses, categories, (long) students * Math.min(priorEnrollments, courses),
+                    (System.nanoTime() - seedStart) / 1e9);
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            Scenario scenario = new Scenario(client, baseUrl, students, courses, enrollsPerSession);
+
+            System.out.println("Target: " + baseUrl + ", clients: " + clients
+                    + ", duration: " + durationSeconds + " s (+" + warmupSeconds + " s warm-up)");
+            run(scenario, clients, warmupSeconds);
+            Map<String, EndpointStats> results = run(scenario, clients, durationSeconds);
+            LoadTestSupport.report(results, durationSeconds);
+        }
+    }
+
+    // Bulk-insert the data set with JDBC batches; the database is fresh, so ids start at 1
+    private static void seed(ConfigurableApplicationContext context, int students, int courses, int categories,
+                             int priorEnrollments, int capacity) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        String passwordHash = context.getBean(PasswordHashingService.class).encode(PASSWORD);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= categories; id++) {
+            rows.add(new Object[] { id, "Category " + id, "Load test category " + id });
+        }
+        batchInsert(jdbcTemplate, "INSERT INTO categories (id, name, description) VALUES (?, ?, ?)", rows);
+
+        for (long id = 1; id <= courses; id++) {
+            rows.add(new Object[] { id, "Course " + id, "Load test course " + id, capacity > 0 ? capacity : null,
+                    (id - 1) % categories + 1 });
+        }
+        batchInsert(jdbcTemplate, "INSERT INTO courses (id, title, description, capacity, category_id) VALUES (?, ?, ?, ?, ?)", rows);
+
+        for (long id = 1; id <= students; id++) {
+            rows.add(new Object[] { id, "student" + id, email(id), passwordHash, "STUDENT" });
+        }
+        batchInsert(jdbcTemplate, "INSERT INTO users (id, username, email, password, role) VALUES (?, ?, ?, ?, ?)", rows);
+
+        List<Object[]> feedbackRows = new ArrayList<>();
+        long enrollmentId = 0;
+        for (long studentId = 1; studentId <= students; studentId++) {
+            Set<Long> picked = new TreeSet<>();
+            while (picked.size() < Math.min(priorEnrollments, courses)) {
+                picked.add(random.nextLong(1, courses + 1));
+            }
+            for (Long courseId : picked) {
+                enrollmentId++;
+                rows.add(new Object[] { enrollmentId, studentId, courseId });
+                if (enrollmentId % 2 == 0) {
+                    feedbackRows.add(new Object[] { enrollmentId, random.nextInt(1, 6), studentId, courseId });
+                }
+            }
+            if (rows.size() >= SEED_BATCH_SIZE) {
+                batchInsert(jdbcTemplate, "INSERT INTO enrollments (id, enrollment_date, user_id, course_id) VALUES (?, CURRENT_TIMESTAMP, ?, ?)", rows);
+            }
+        }
+        batchInsert(jdbcTemplate, "INSERT INTO enrollments (id, enrollment_date, user_id, course_id) VALUES (?, CURRENT_TIMESTAMP, ?, ?)", rows);
+        batchInsert(jdbcTemplate, "INSERT INTO feedback (id, rating, feedback_date, user_id, course_id) VALUES (?, ?, CURRENT_TIMESTAMP, ?, ?)", feedbackRows);
+
+        // Keep each pooled id generator one allocation block above the seeded ids
+        advanceIdGenerator(jdbcTemplate, "categories", categories);
+        advanceIdGenerator(jdbcTemplate, "courses", courses);
+        advanceIdGenerator(jdbcTemplate, "users", students);
+        advanceIdGenerator(jdbcTemplate, "enrollments", enrollmentId);
+        advanceIdGenerator(jdbcTemplate, "feedback", enrollmentId);
+
+        context.getBean(RatingStatsRebuildJob.class).rebuild();
+        context.getBean(SeatReconciliationJob.class).reconcile();
+    }
+
+    private static void batchInsert(JdbcTemplate jdbcTemplate, String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += SEED_BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + SEED_BATCH_SIZE, rows.size())));
+        }
+        rows.clear();
+    }
+
+    private static void advanceIdGenerator(JdbcTemplate jdbcTemplate, String table, long maxId) {
+        jdbcTemplate.update("UPDATE id_generators SET next_val = ? WHERE sequence_name = ?", maxId + 51, table);
+    }
+
+    private static String email(long studentId) {
+        return "student" + studentId + "@loadtest.local";
+    }
+
+    private static Map<String, EndpointStats> run(Scenario scenario, int clients, int seconds) throws InterruptedException {
+        Map<String, EndpointStats> results = LoadTestSupport.newResults(LOGIN, LIST_COURSES, ENROLL, RATE);
+        LoadTestSupport.runClients(clients, seconds, deadline -> scenario.session(results, deadline));
+        return results;
+    }
+
+    private static class Scenario {
+        private final HttpClient client;
+        private final String baseUrl;
+        private final int students;
+        private final int courses;
+        private final int enrollsPerSession;
+
+        Scenario(HttpClient client, String baseUrl, int students, int courses, int enrollsPerSession) {
+            this.client = client;
+            this.baseUrl = baseUrl;
+            this.students = students;
+            this.courses = courses;
+            this.enrollsPerSession = enrollsPerSession;
+        }
+
+        // Log in as a random student, browse, then enroll in and rate a few courses
+        void session(Map<String, EndpointStats> results, long deadline) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long studentId = random.nextLong(1, students + 1);
+
+            String loginBody = "{\"email\":\"" + email(studentId) + "\",\"password\":\"" + PASSWORD + "\"}";
+            HttpResponse<String> login = send(results.get(LOGIN), Set.of(200), HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(loginBody)), HttpResponse.BodyHandlers.ofString());
+            String token = token(login);
+            if (token == null) {
+                return;
+            }
+
+            int browses = random.nextInt(1, 3);
+            for (int i = 0; i < browses && System.nanoTime() < deadline; i++) {
+                send(results.get(LIST_COURSES), Set.of(200),
+                        HttpRequest.newBuilder(URI.create(baseUrl + "/api/courses")).GET(), HttpResponse.BodyHandlers.discarding());
+            }
+
+            int enrolls = random.nextInt(1, enrollsPerSession + 1);
+            for (int i = 0; i < enrolls && System.nanoTime() < deadline; i++) {
+                long courseId = random.nextLong(1, courses + 1);
+                HttpResponse<Void> enroll = send(results.get(ENROLL), Set.of(200, 409), HttpRequest.newBuilder(
+                                URI.create(baseUrl + "/api/students/" + studentId + "/enroll/" + courseId))
+                        .header("Authorization", "Bearer " + token)
+                        .POST(HttpRequest.BodyPublishers.noBody()), HttpResponse.BodyHandlers.discarding());
+                if (enroll == null || enroll.statusCode() != 200) {
+                    continue;
+                }
+                send(results.get(RATE), Set.of(200), HttpRequest.newBuilder(URI.create(baseUrl + "/api/courses/" + courseId + "/rating"))
+                        .header("Authorization", "Bearer " + token)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"rating\":" + random.nextInt(1, 6) + "}")),
+                        HttpResponse.BodyHandlers.discarding());
+            }
+        }
+
+        private <T> HttpResponse<T> send(EndpointStats stats, Set<Integer> expected, HttpRequest.Builder request,
+                                         HttpResponse.BodyHandler<T> bodyHandler) {
+            return LoadTestSupport.send(client, stats, expected::contains, request, bodyHandler);
+        }
+
+        private static String token(HttpResponse<String> login) {
+            if (login == null || login.statusCode() != 200) {
+                return null;
+            }
+            try {
+                JsonNode body = objectMapper.readTree(login.body());
+                return body.hasNonNull("token") ? body.get("token").asText() : null;
+            } catch (Exception e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.hamza.courseenrollmentsystem.util;
+
+import com.hamza.courseenrollmentsystem.service.SeatCounter;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contention benchmark for the lock-free course seat counter.
+ *
+ * Many threads hammer a single course: first a fill phase that checks the course is never
+ * oversold, then a steady-state phase of reserve/confirm/release cycles that reports
+ * throughput next to a synchronized counter doing the same work.
+ *
+ * Usage: SeatCounterBenchmark [threads] [operationsPerThread] [capacity]
+ */
+public class SeatCounterBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors() * 4;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        int capacity = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+
+        System.out.println("=== Seat Counter Contention Benchmark ===");
+        System.out.println("Threads: " + threads + ", operations per thread: " + operations + ", capacity: " + capacity);
+        System.out.println();
+
+        // Fill phase: every thread keeps trying to enroll until the course is full
+        SeatCounter fillCounter = new SeatCounter(capacity, 0);
+        AtomicLong granted = new AtomicLong();
+        run(threads, () -> {
+            for (int i = 0; i < operations; i++) {
+                if (fillCounter.tryReserve()) {
+                    fillCounter.confirmReservation();
+                    granted.incrementAndGet();
+                }
+            }
+        });
+        System.out.println("Fill phase: granted " + granted.get() + " seats, counter shows " + fillCounter.getTaken()
+                + (granted.get() == capacity ? " (no oversell)" : " (OVERSOLD)"));
+        System.out.println();
+
+        // Steady state: enroll and unenroll on a course with free seats
+        SeatCounter seatCounter = new SeatCounter(capacity, 0);
+        long lockFree = run(threads, () -> {
+            for (int i = 0; i < operations; i++) {
+                if (seatCounter.tryReserve()) {
+                    seatCounter.confirmReservation();
+                    seatCounter.beginRelease();
+                    seatCounter.completeRelease(true);
+                }
+            }
+        });
+        report("Lock-free SeatCounter", threads, operations, lockFree);
+
+        SynchronizedSeatCounter lockedCounter = new SynchronizedSeatCounter(capacity);
+        long locked = run(threads, () -> {
+            for (int i = 0; i < operations; i++) {
+                if (lockedCounter.tryReserve()) {
+                    lockedCounter.release();
+                }
+            }
+        });
+        report("Synchronized counter", threads, operations, locked);
+    }
+
+    private static long run(int threads, Runnable work) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    work.run();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.start();
+        }
+        long startNanos = System.nanoTime();
+        start.countDown();
+        done.await();
+        return System.nanoTime() - startNanos;
+    }
+
+    private static void report(String name, int threads, int operations, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        long totalOperations = (long) threads * operations;
+        System.out.printf("%-24s %10.0f enroll/unenroll cycles per second (%.2f s)%n",
+                name, totalOperations / seconds, seconds);
+    }
+
+    // Baseline: the same check-and-increment guarded by a monitor
+    private static class SynchronizedSeatCounter {
+        private final int capacity;
+        private int taken;
+
+        SynchronizedSeatCounter(int capacity) {
+            this.capacity = capacity;
+        }
+
+        synchronized boolean tryReserve() {
+            if (taken >= capacity) {
+                return false;
+            }
+            taken++;
+            return true;
+        }
+
+        synchronized void release() {
+            taken--;
+        }
+    }
+}
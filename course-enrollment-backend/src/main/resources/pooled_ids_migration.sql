@@ -0,0 +1,51 @@
+-- Migration to pooled id generation for an existing database
+--
+-- Entities no longer rely on AUTO_INCREMENT: Hibernate reserves blocks of 50 ids from
+-- id_generators and assigns them before inserting, which allows JDBC insert batching.
+-- Run once before deploying the new version; it is safe to re-run.
+--
+-- The AUTO_INCREMENT attribute stays on the id columns for compatibility, but rows inserted
+-- outside the application must take their ids from id_generators as well, otherwise they
+-- can collide with a block that the application has already reserved.
+
+CREATE TABLE IF NOT EXISTS id_generators (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val BIGINT NOT NULL,
+    PRIMARY KEY (sequence_name)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- Start every generator one allocation block (50) above the highest existing id
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'users', COALESCE(MAX(id), 0) + 51 FROM users
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'categories', COALESCE(MAX(id), 0) + 51 FROM categories
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'courses', COALESCE(MAX(id), 0) + 51 FROM courses
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'enrollments', COALESCE(MAX(id), 0) + 51 FROM enrollments
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'feedback', COALESCE(MAX(id), 0) + 51 FROM feedback
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+-- api_cache is created by Hibernate rather than schema.sql, so it may not exist yet;
+-- without it the generator keeps its initial value. The statement is chosen at run time
+-- because a plain SELECT FROM a missing table would fail the script.
+SET @api_cache_exists = (SELECT COUNT(*) FROM information_schema.tables
+                         WHERE table_schema = DATABASE() AND table_name = 'api_cache');
+SET @api_cache_sql = IF(@api_cache_exists > 0,
+    'INSERT INTO id_generators (sequence_name, next_val)
+     SELECT ''api_cache'', COALESCE(MAX(id), 0) + 51 FROM api_cache
+     ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val))',
+    'INSERT INTO id_generators (sequence_name, next_val) VALUES (''api_cache'', 51)
+     ON DUPLICATE KEY UPDATE next_val = next_val');
+PREPARE api_cache_stmt FROM @api_cache_sql;
+EXECUTE api_cache_stmt;
+DEALLOCATE PREPARE api_cache_stmt;
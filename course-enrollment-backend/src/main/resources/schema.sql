@@ -2,11 +2,13 @@
 -- Run this if you need to recreate the database from scratch
 
 -- Drop existing tables (in correct order due to foreign keys)
+DROP TABLE IF EXISTS course_rating_stats;
 DROP TABLE IF EXISTS feedback;
 DROP TABLE IF EXISTS enrollments;
 DROP TABLE IF EXISTS courses;
 DROP TABLE IF EXISTS categories;
 DROP TABLE IF EXISTS users;
+DROP TABLE IF EXISTS id_generators;
 
 -- Create users table
 CREATE TABLE users (
@@ -27,11 +29,13 @@ CREATE TABLE categories (
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 -- Create courses table
+-- (existing databases: ALTER TABLE courses ADD COLUMN capacity INT NULL AFTER instructor_api_id;)
 CREATE TABLE courses (
     id BIGINT NOT NULL AUTO_INCREMENT,
     title VARCHAR(255) NOT NULL,
     description TEXT,
     instructor_api_id VARCHAR(255),
+    capacity INT,
     category_id BIGINT,
     PRIMARY KEY (id),
     CONSTRAINT fk_course_category FOREIGN KEY (category_id) REFERENCES categories(id)
@@ -64,9 +68,42 @@ CREATE TABLE feedback (
     CONSTRAINT fk_feedback_user FOREIGN KEY (user_id) REFERENCES users(id)
         ON DELETE CASCADE ON UPDATE CASCADE,
     CONSTRAINT fk_feedback_course FOREIGN KEY (course_id) REFERENCES courses(id)
+        ON DELETE CASCADE ON UPDATE CASCADE,
+    UNIQUE KEY uk_feedback_user_course (user_id, course_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- Create course rating statistics table (running sum, count and 1-5 histogram per course)
+CREATE TABLE course_rating_stats (
+    course_id BIGINT NOT NULL,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    rating_count BIGINT NOT NULL DEFAULT 0,
+    one_star BIGINT NOT NULL DEFAULT 0,
+    two_star BIGINT NOT NULL DEFAULT 0,
+    three_star BIGINT NOT NULL DEFAULT 0,
+    four_star BIGINT NOT NULL DEFAULT 0,
+    five_star BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (course_id),
+    CONSTRAINT fk_rating_stats_course FOREIGN KEY (course_id) REFERENCES courses(id)
         ON DELETE CASCADE ON UPDATE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
+-- Create id generator table: one row per entity table holding its next pooled id block.
+-- Rows must stay at least one allocation block (50) above MAX(id) of their table;
+-- see pooled_ids_migration.sql for converting an existing database.
+CREATE TABLE id_generators (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val BIGINT NOT NULL,
+    PRIMARY KEY (sequence_name)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+INSERT INTO id_generators (sequence_name, next_val) VALUES
+    ('users', 51),
+    ('categories', 51),
+    ('courses', 51),
+    ('enrollments', 51),
+    ('feedback', 51),
+    ('api_cache', 51);
+
 -- Create indexes for better performance
 CREATE INDEX idx_users_email ON users(email);
 CREATE INDEX idx_enrollments_user ON enrollments(user_id);
@@ -0,0 +1,121 @@
+package com.hamza.courseenrollmentsystem.controller.api;
+
+import com.hamza.courseenrollmentsystem.service.CatalogVersion;
+import com.hamza.courseenrollmentsystem.util.QueryBudget;
+import com.hamza.courseenrollmentsystem.util.QueryStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Locks the JDBC statement budget of the public catalog endpoints against the embedded H2
+ * database of the loadtest profile. A failure lists every statement shape with its count.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+class CatalogQueryBudgetTest {
+
+    private static final int CATEGORIES = 5;
+    // More than one default-size page, every course in a category
+    private static final int COURSES = 120;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void seedCatalog() {
+        jdbcTemplate.update("DELETE FROM courses");
+        jdbcTemplate.update("DELETE FROM categories");
+        List<Object[]> categories = new ArrayList<>();
+        for (long id = 1; id <= CATEGORIES; id++) {
+            categories.add(new Object[]{id, "Category " + id});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO categories (id, name) VALUES (?, ?)", categories);
+        List<Object[]> courses = new ArrayList<>();
+        for (long id = 1; id <= COURSES; id++) {
+            courses.add(new Object[]{id, "Course " + id, id % CATEGORIES + 1});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO courses (id, title, category_id) VALUES (?, ?, ?)", courses);
+
+        // Start every test from a cold snapshot and empty caches
+        catalogVersion.bumpAfterCommit();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void courseListBuildsTheSnapshotWithOneQueryPerTable() throws Exception {
+        // Courses with their category names, and categories: no per-course lookups
+        QueryBudget.assertMaxStatements(2, () -> mockMvc.perform(get("/api/courses")).andExpect(status().isOk()));
+        QueryBudget.assertMaxStatements(0, () -> mockMvc.perform(get("/api/courses")).andExpect(status().isOk()));
+
+        String nextCursor = mockMvc.perform(get("/api/courses")).andReturn().getResponse().getHeader("X-Next-Cursor");
+        assertThat(nextCursor).isNotNull();
+        QueryBudget.assertMaxStatements(0, () -> mockMvc.perform(get("/api/courses").param("cursor", nextCursor))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void nonDefaultCoursePageIsOneQueryThenCached() throws Exception {
+        QueryBudget.assertMaxStatements(1, () -> mockMvc.perform(get("/api/courses").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Next-Cursor")));
+        QueryBudget.assertMaxStatements(0, () -> mockMvc.perform(get("/api/courses").param("limit", "10"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void coursesOfACategoryComeFromTheSnapshot() throws Exception {
+        QueryBudget.assertNoRepeatedStatements(1, () -> mockMvc.perform(get("/api/courses/category/2"))
+                .andExpect(status().isOk()));
+        QueryBudget.assertMaxStatements(0, () -> mockMvc.perform(get("/api/courses/category/3"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void categoryListBuildsTheSnapshotWithOneQueryPerTable() throws Exception {
+        QueryBudget.assertMaxStatements(2, () -> mockMvc.perform(get("/api/categories")).andExpect(status().isOk()));
+        QueryBudget.assertMaxStatements(0, () -> mockMvc.perform(get("/api/categories")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void nonDefaultCategoryPageIsOneQuery() throws Exception {
+        QueryBudget.assertMaxStatements(1, () -> mockMvc.perform(get("/api/categories").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Next-Cursor")));
+    }
+
+    @Test
+    void revalidationIsAnsweredWithoutTheDatabase() throws Exception {
+        String eTag = catalogVersion.getETag();
+
+        QueryStats stats = QueryBudget.assertMaxStatements(0, () -> {
+            mockMvc.perform(get("/api/courses").header("If-None-Match", eTag)).andExpect(status().isNotModified());
+            mockMvc.perform(get("/api/categories").header("If-None-Match", eTag)).andExpect(status().isNotModified());
+        });
+        assertThat(stats.getRowCount()).isZero();
+    }
+}
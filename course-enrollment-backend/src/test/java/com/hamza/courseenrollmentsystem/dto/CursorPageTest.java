@@ -0,0 +1,68 @@
+package com.hamza.courseenrollmentsystem.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorPageTest {
+
+    @Test
+    void cursorRoundTrips() {
+        String cursor = CursorPage.encodeCursor(12345L);
+
+        assertThat(CursorPage.decodeCursor(cursor)).isEqualTo(12345L);
+        assertThat(cursor).doesNotContain("=");
+    }
+
+    @Test
+    void missingCursorStartsFromTheBeginning() {
+        assertThat(CursorPage.decodeCursor(null)).isZero();
+        assertThat(CursorPage.decodeCursor(" ")).isZero();
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        String wrongPrefix = Base64.getUrlEncoder().encodeToString("offset:10".getBytes(StandardCharsets.UTF_8));
+        String notANumber = Base64.getUrlEncoder().encodeToString("id:ten".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> CursorPage.decodeCursor("not base64!")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CursorPage.decodeCursor(wrongPrefix)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CursorPage.decodeCursor(notANumber)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void limitIsClampedAndDefaulted() {
+        assertThat(CursorPage.resolveLimit(null)).isEqualTo(CursorPage.DEFAULT_LIMIT);
+        assertThat(CursorPage.resolveLimit(0)).isEqualTo(1);
+        assertThat(CursorPage.resolveLimit(-5)).isEqualTo(1);
+        assertThat(CursorPage.resolveLimit(10)).isEqualTo(10);
+        assertThat(CursorPage.resolveLimit(10_000)).isEqualTo(CursorPage.MAX_LIMIT);
+    }
+
+    @Test
+    void extraRowMeansAnotherPage() {
+        CursorPage<Long> page = CursorPage.fromRows(List.of(1L, 2L, 3L, 4L), 3, Function.identity());
+
+        assertThat(page.getItems()).containsExactly(1L, 2L, 3L);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(CursorPage.decodeCursor(page.getNextCursor())).isEqualTo(3L);
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        CursorPage<Long> full = CursorPage.fromRows(List.of(1L, 2L, 3L), 3, Function.identity());
+        CursorPage<Long> empty = CursorPage.fromRows(List.of(), 3, Function.identity());
+
+        assertThat(full.getItems()).containsExactly(1L, 2L, 3L);
+        assertThat(full.hasNext()).isFalse();
+        assertThat(full.getNextCursor()).isNull();
+        assertThat(empty.getItems()).isEmpty();
+        assertThat(empty.hasNext()).isFalse();
+    }
+}
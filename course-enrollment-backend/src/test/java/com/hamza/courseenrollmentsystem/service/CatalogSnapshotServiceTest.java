@@ -0,0 +1,102 @@
+package com.hamza.courseenrollmentsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hamza.courseenrollmentsystem.dto.CategoryDto;
+import com.hamza.courseenrollmentsystem.dto.CourseDto;
+import com.hamza.courseenrollmentsystem.repository.CategoryRepository;
+import com.hamza.courseenrollmentsystem.repository.CourseRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CatalogSnapshotServiceTest {
+
+    private final CourseRepository courseRepository = mock(CourseRepository.class);
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final CatalogVersion catalogVersion = new CatalogVersion();
+    private final CatalogSnapshotService service = newService(Duration.ofMinutes(10));
+
+    private CatalogSnapshotService newService(Duration maxAge) {
+        return new CatalogSnapshotService(courseRepository, categoryRepository, catalogVersion, new ObjectMapper(), maxAge);
+    }
+
+    @Test
+    void snapshotIsReusedUntilTheCatalogChanges() {
+        when(courseRepository.findAllDtos()).thenReturn(List.of());
+        when(categoryRepository.findAllDtos()).thenReturn(List.of());
+
+        CatalogSnapshotService.Snapshot first = service.getSnapshot();
+        assertThat(service.getSnapshot()).isSameAs(first);
+
+        catalogVersion.bumpAfterCommit();
+        CatalogSnapshotService.Snapshot second = service.getSnapshot();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getETag()).isEqualTo(catalogVersion.getETag());
+        verify(courseRepository, times(2)).findAllDtos();
+    }
+
+    @Test
+    void previousSnapshotIsServedWhileARebuildRuns() throws Exception {
+        CountDownLatch rebuildStarted = new CountDownLatch(1);
+        CountDownLatch finishRebuild = new CountDownLatch(1);
+        when(categoryRepository.findAllDtos()).thenReturn(List.of());
+        when(courseRepository.findAllDtos())
+                .thenReturn(List.of())
+                .thenAnswer(invocation -> {
+                    rebuildStarted.countDown();
+                    finishRebuild.await();
+                    return List.<CourseDto>of();
+                });
+        CatalogSnapshotService.Snapshot previous = service.getSnapshot();
+
+        catalogVersion.bumpAfterCommit();
+        CompletableFuture<CatalogSnapshotService.Snapshot> rebuild = CompletableFuture.supplyAsync(service::getSnapshot);
+        assertThat(rebuildStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(service.getSnapshot()).isSameAs(previous);
+
+        finishRebuild.countDown();
+        CatalogSnapshotService.Snapshot rebuilt = rebuild.get(5, TimeUnit.SECONDS);
+        assertThat(rebuilt.getETag()).isEqualTo(catalogVersion.getETag());
+        assertThat(service.getSnapshot()).isSameAs(rebuilt);
+    }
+
+    @Test
+    void expiredSnapshotKeepsItsETagWhenTheCatalogIsUnchanged() {
+        CatalogSnapshotService expiring = newService(Duration.ofNanos(1));
+        when(courseRepository.findAllDtos()).thenReturn(List.of());
+        when(categoryRepository.findAllDtos()).thenReturn(List.of());
+
+        CatalogSnapshotService.Snapshot first = expiring.getSnapshot();
+        CatalogSnapshotService.Snapshot second = expiring.getSnapshot();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getETag()).isEqualTo(first.getETag());
+    }
+
+    @Test
+    void expiredSnapshotPicksUpChangesMadeThroughAnotherInstance() {
+        CatalogSnapshotService expiring = newService(Duration.ofNanos(1));
+        when(courseRepository.findAllDtos()).thenReturn(List.of());
+        when(categoryRepository.findAllDtos())
+                .thenReturn(List.of())
+                .thenReturn(List.of(new CategoryDto(1L, "Added elsewhere")));
+
+        CatalogSnapshotService.Snapshot first = expiring.getSnapshot();
+        CatalogSnapshotService.Snapshot second = expiring.getSnapshot();
+
+        assertThat(second.getETag()).isNotEqualTo(first.getETag()).isEqualTo(catalogVersion.getETag());
+        assertThat(new String(second.getCategoryPage(0).getJson())).contains("Added elsewhere");
+    }
+}
@@ -0,0 +1,49 @@
+package com.hamza.courseenrollmentsystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogVersionTest {
+
+    private static final String ETAG = "\"catalog-abc-7\"";
+
+    @Test
+    void matchesTheExactTag() {
+        assertThat(CatalogVersion.matches(ETAG, ETAG)).isTrue();
+    }
+
+    @Test
+    void matchesAWeakTag() {
+        assertThat(CatalogVersion.matches("W/" + ETAG, ETAG)).isTrue();
+    }
+
+    @Test
+    void matchesOneTagOfAList() {
+        assertThat(CatalogVersion.matches("\"catalog-abc-6\", W/" + ETAG + " ,\"other\"", ETAG)).isTrue();
+    }
+
+    @Test
+    void matchesTheWildcard() {
+        assertThat(CatalogVersion.matches("*", ETAG)).isTrue();
+    }
+
+    @Test
+    void rejectsOtherTags() {
+        assertThat(CatalogVersion.matches(null, ETAG)).isFalse();
+        assertThat(CatalogVersion.matches("", ETAG)).isFalse();
+        assertThat(CatalogVersion.matches("\"catalog-abc-6\"", ETAG)).isFalse();
+        assertThat(CatalogVersion.matches("catalog-abc-7", ETAG)).isFalse();
+    }
+
+    @Test
+    void bumpOutsideATransactionChangesTheTagAtOnce() {
+        CatalogVersion version = new CatalogVersion();
+        String before = version.getETag();
+
+        version.bumpAfterCommit();
+
+        assertThat(version.getETag()).isNotEqualTo(before);
+        assertThat(CatalogVersion.matches(before, version.getETag())).isFalse();
+    }
+}
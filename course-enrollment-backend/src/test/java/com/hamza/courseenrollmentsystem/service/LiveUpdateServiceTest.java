@@ -0,0 +1,133 @@
+package com.hamza.courseenrollmentsystem.service;
+
+import com.hamza.courseenrollmentsystem.dto.CourseSeatCountDto;
+import com.hamza.courseenrollmentsystem.repository.CourseRatingStatsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class LiveUpdateServiceTest {
+
+    private final Deque<SseEmitter> emitters = new ArrayDeque<>();
+
+    // One sender thread, so a single blocked write would hold up every other subscriber
+    private final LiveUpdateService service = new LiveUpdateService(mock(CourseRatingStatsRepository.class),
+            64, 100, 1, Duration.ofMinutes(1), Duration.ofHours(1), Duration.ofMillis(50)) {
+        @Override
+        SseEmitter createEmitter(long timeoutMillis) {
+            return emitters.poll();
+        }
+    };
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void stalledSubscriberIsDroppedAndDoesNotBlockTheOthers() throws Exception {
+        BlockingEmitter slow = new BlockingEmitter();
+        CountingEmitter fast = new CountingEmitter();
+        emitters.add(slow);
+        emitters.add(fast);
+        service.subscribe(Set.of(), Set.of());
+        service.subscribe(Set.of(), Set.of());
+
+        service.enrollmentChanged(new CourseSeatCountDto(1L, 10, 1L));
+        service.dispatch();
+        assertThat(slow.writeStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // The next dispatch after the write timeout drops the slow client and adds a sender thread
+        Thread.sleep(100);
+        service.dispatch();
+        assertThat(fast.awaitSends(1)).isTrue();
+        assertThat(service.getStats()).containsEntry("subscribers", 1).containsEntry("stalled", 1L);
+
+        // Later updates only go to the remaining subscriber
+        service.enrollmentChanged(new CourseSeatCountDto(1L, 10, 2L));
+        service.dispatch();
+        assertThat(fast.awaitSends(2)).isTrue();
+        assertThat(slow.sends.get()).isEqualTo(1);
+
+        slow.release.countDown();
+        assertThat(slow.completed.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void subscriberOnlyReceivesTheRequestedEventsAndCourses() throws Exception {
+        CountingEmitter ratingsOnly = new CountingEmitter();
+        CountingEmitter courseTwo = new CountingEmitter();
+        emitters.add(ratingsOnly);
+        emitters.add(courseTwo);
+        service.subscribe(Set.of(), Set.of(LiveUpdateService.RATING_EVENT));
+        service.subscribe(Set.of(2L), Set.of());
+
+        service.enrollmentChanged(new CourseSeatCountDto(1L, 10, 1L));
+        service.enrollmentChanged(new CourseSeatCountDto(2L, 10, 1L));
+        service.dispatch();
+
+        assertThat(courseTwo.awaitSends(1)).isTrue();
+        Thread.sleep(100);
+        assertThat(courseTwo.sends.get()).isEqualTo(1);
+        assertThat(ratingsOnly.sends.get()).isZero();
+    }
+
+    private static class CountingEmitter extends SseEmitter {
+        final AtomicInteger sends = new AtomicInteger();
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            synchronized (sends) {
+                sends.incrementAndGet();
+                sends.notifyAll();
+            }
+        }
+
+        boolean awaitSends(int expected) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            synchronized (sends) {
+                while (sends.get() < expected && System.currentTimeMillis() < deadline) {
+                    sends.wait(100);
+                }
+            }
+            return sends.get() >= expected;
+        }
+    }
+
+    // A client that stopped reading: the first write blocks until released
+    private static class BlockingEmitter extends SseEmitter {
+        final AtomicInteger sends = new AtomicInteger();
+        final CountDownLatch writeStarted = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sends.incrementAndGet();
+            writeStarted.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.hamza.courseenrollmentsystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RatingDeltaTest {
+
+    @Test
+    void firstRatingAddsToSumCountAndHistogram() {
+        RatingDelta delta = RatingDelta.of(null, 4);
+
+        assertThat(delta.getSumDelta()).isEqualTo(4);
+        assertThat(delta.getCountDelta()).isEqualTo(1);
+        assertThat(delta.getStarDelta(4)).isEqualTo(1);
+        assertThat(delta.isEmpty()).isFalse();
+    }
+
+    @Test
+    void changedRatingMovesTheStarWithoutCountingTwice() {
+        RatingDelta delta = RatingDelta.of(2, 5);
+
+        assertThat(delta.getSumDelta()).isEqualTo(3);
+        assertThat(delta.getCountDelta()).isZero();
+        assertThat(delta.getStarDelta(2)).isEqualTo(-1);
+        assertThat(delta.getStarDelta(5)).isEqualTo(1);
+    }
+
+    @Test
+    void unchangedRatingIsEmpty() {
+        RatingDelta delta = RatingDelta.of(3, 3);
+
+        assertThat(delta.isEmpty()).isTrue();
+        assertThat(delta.getSumDelta()).isZero();
+        assertThat(delta.getStarDelta(3)).isZero();
+    }
+
+    @Test
+    void loweredRatingHasNegativeSum() {
+        RatingDelta delta = RatingDelta.of(5, 1);
+
+        assertThat(delta.getSumDelta()).isEqualTo(-4);
+        assertThat(delta.getCountDelta()).isZero();
+    }
+
+    @Test
+    void plusCombinesSeveralUsersRatings() {
+        RatingDelta combined = RatingDelta.of(null, 5)
+                .plus(RatingDelta.of(null, 3))
+                .plus(RatingDelta.of(5, 3));
+
+        assertThat(combined.getSumDelta()).isEqualTo(6);
+        assertThat(combined.getCountDelta()).isEqualTo(2);
+        assertThat(combined.getStarDelta(3)).isEqualTo(2);
+        assertThat(combined.getStarDelta(5)).isZero();
+    }
+
+    @Test
+    void changesThatCancelOutAreEmpty() {
+        RatingDelta combined = RatingDelta.of(2, 4).plus(RatingDelta.of(4, 2));
+
+        assertThat(combined.isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,84 @@
+package com.hamza.courseenrollmentsystem.service;
+
+import com.hamza.courseenrollmentsystem.exception.RatingBufferFullException;
+import com.hamza.courseenrollmentsystem.repository.CourseRatingStatsRepository;
+import com.hamza.courseenrollmentsystem.util.EntityIdAllocator;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class RatingWriteBehindServiceTest {
+
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final RatingWriteBehindService service = new RatingWriteBehindService(mock(JdbcTemplate.class),
+            transactionTemplate, mock(EntityIdAllocator.class), mock(CourseRatingStatsRepository.class),
+            mock(LiveUpdateService.class), true, 3, 1000, Duration.ofSeconds(30));
+
+    @Test
+    void ratingsSurviveAnOutageOfAnyLength() {
+        service.accept(1L, 10L, 4);
+        doThrow(new CannotGetJdbcConnectionException("pool exhausted"))
+                .when(transactionTemplate).executeWithoutResult(any());
+
+        for (int attempt = 0; attempt < 10; attempt++) {
+            assertThat(service.flush()).isZero();
+        }
+        assertThat(service.getPendingRating(1L, 10L)).isEqualTo(4);
+        assertThat(service.getStats()).containsEntry("dropped", 0L).containsEntry("transientFailures", 10L);
+
+        doNothing().when(transactionTemplate).executeWithoutResult(any());
+        assertThat(service.flush()).isEqualTo(1);
+        assertThat(service.getPendingRating(1L, 10L)).isNull();
+    }
+
+    @Test
+    void newerRatingWinsOverARequeuedOne() {
+        service.accept(1L, 10L, 2);
+        doThrow(new CannotGetJdbcConnectionException("database down"))
+                .when(transactionTemplate).executeWithoutResult(any());
+        service.flush();
+
+        service.accept(1L, 10L, 5);
+        service.flush();
+
+        assertThat(service.getPendingRating(1L, 10L)).isEqualTo(5);
+    }
+
+    @Test
+    void pendingRatingsApplyBackPressure() {
+        doThrow(new CannotGetJdbcConnectionException("database down"))
+                .when(transactionTemplate).executeWithoutResult(any());
+        service.accept(1L, 10L, 1);
+        service.accept(2L, 10L, 2);
+        service.accept(3L, 10L, 3);
+        service.flush();
+
+        assertThatThrownBy(() -> service.accept(4L, 10L, 4)).isInstanceOf(RatingBufferFullException.class);
+        // Replacing a buffered rating needs no room
+        service.accept(1L, 10L, 5);
+        assertThat(service.getPendingRating(1L, 10L)).isEqualTo(5);
+    }
+
+    @Test
+    void ratingRejectedByTheDatabaseIsDropped() {
+        service.accept(1L, 10L, 3);
+        doThrow(new DataIntegrityViolationException("fk_feedback_course"))
+                .when(transactionTemplate).executeWithoutResult(any());
+
+        assertThat(service.flush()).isZero();
+
+        assertThat(service.getPendingRating(1L, 10L)).isNull();
+        assertThat(service.getStats()).containsEntry("dropped", 1L);
+    }
+}
@@ -0,0 +1,133 @@
+package com.hamza.courseenrollmentsystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatCounterTest {
+
+    @Test
+    void reservesUntilCapacityIsReached() {
+        SeatCounter counter = new SeatCounter(2, 1);
+
+        assertThat(counter.tryReserve()).isTrue();
+        assertThat(counter.tryReserve()).isFalse();
+        assertThat(counter.getTaken()).isEqualTo(2);
+        assertThat(counter.getAvailable()).isZero();
+    }
+
+    @Test
+    void cancelledReservationFreesTheSeat() {
+        SeatCounter counter = new SeatCounter(1, 0);
+
+        assertThat(counter.tryReserve()).isTrue();
+        counter.cancelReservation();
+
+        assertThat(counter.getAvailable()).isEqualTo(1);
+        assertThat(counter.tryReserve()).isTrue();
+    }
+
+    @Test
+    void bulkReservationGrantsOnlyTheFreeSeats() {
+        SeatCounter counter = new SeatCounter(10, 7);
+
+        assertThat(counter.tryReserve(5)).isEqualTo(3);
+        assertThat(counter.tryReserve(1)).isZero();
+        assertThat(counter.getTaken()).isEqualTo(10);
+    }
+
+    @Test
+    void releasedSeatOnlyReturnsAfterCommit() {
+        SeatCounter counter = new SeatCounter(1, 1);
+
+        counter.beginRelease();
+        assertThat(counter.getAvailable()).isZero();
+        counter.completeRelease(false);
+        assertThat(counter.getAvailable()).isZero();
+
+        counter.beginRelease();
+        counter.completeRelease(true);
+        assertThat(counter.getAvailable()).isEqualTo(1);
+    }
+
+    @Test
+    void reconcileKeepsInFlightAndLaterCommittedReservations() {
+        SeatCounter counter = new SeatCounter(10, 0);
+        counter.tryReserve();
+        counter.confirmReservation();
+
+        long mark = counter.reconcileMark();
+        // Read from the database after the mark: the confirmed enrollment is visible
+        long enrolled = 1;
+        counter.tryReserve();
+        counter.confirmReservation();
+        counter.tryReserve(2);
+
+        counter.reconcile(10, enrolled, mark);
+
+        // 1 counted by the database, 1 committed after the mark, 2 still pending
+        assertThat(counter.getTaken()).isEqualTo(4);
+    }
+
+    @Test
+    void reconcileAppliesTheNewCapacity() {
+        SeatCounter counter = new SeatCounter(5, 5);
+
+        counter.reconcile(8, 5, counter.reconcileMark());
+
+        assertThat(counter.getCapacity()).isEqualTo(8);
+        assertThat(counter.getAvailable()).isEqualTo(3);
+    }
+
+    @Test
+    void unlimitedCapacityNeverFills() {
+        SeatCounter counter = new SeatCounter(SeatCounter.UNLIMITED, 1_000_000);
+
+        assertThat(counter.tryReserve()).isTrue();
+        assertThat(counter.tryReserve(1000)).isEqualTo(1000);
+    }
+
+    @Test
+    void concurrentReservationsNeverOversell() throws Exception {
+        int capacity = 100;
+        int threads = 8;
+        SeatCounter counter = new SeatCounter(capacity, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Callable<Integer> worker = () -> {
+                    start.await();
+                    int granted = 0;
+                    for (int i = 0; i < 50; i++) {
+                        if (counter.tryReserve()) {
+                            counter.confirmReservation();
+                            granted++;
+                        }
+                    }
+                    return granted;
+                };
+                results.add(executor.submit(worker));
+            }
+            start.countDown();
+
+            int granted = 0;
+            for (Future<Integer> result : results) {
+                granted += result.get();
+            }
+            assertThat(granted).isEqualTo(capacity);
+            assertThat(counter.getTaken()).isEqualTo(capacity);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
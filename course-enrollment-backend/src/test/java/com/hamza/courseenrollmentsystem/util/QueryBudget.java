@@ -0,0 +1,56 @@
+package com.hamza.courseenrollmentsystem.util;
+
+/**
+ * Assertions on the JDBC statements issued by a block of code, so a test can lock in
+ * an endpoint's query budget and fail when a change adds queries or an N+1 pattern.
+ *
+ * Counting is per thread: the request must run on the calling thread, as with MockMvc.
+ * <pre>
+ * QueryBudget.assertMaxStatements(2, () -> mockMvc.perform(get("/api/courses")).andExpect(status().isOk()));
+ * QueryBudget.assertNoRepeatedStatements(3, () -> categoryService.getAllCategories());
+ * </pre>
+ * Failures are AssertionErrors listing every statement shape with its execution count.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    @FunctionalInterface
+    public interface Work {
+        void run() throws Exception;
+    }
+
+    /**
+     * Run the work and return the statements it issued
+     */
+    public static QueryStats measure(Work work) throws Exception {
+        try (QueryStats stats = QueryStats.start()) {
+            work.run();
+            return stats;
+        }
+    }
+
+    /**
+     * Fail if the work issued more than maxStatements JDBC statements
+     */
+    public static QueryStats assertMaxStatements(int maxStatements, Work work) throws Exception {
+        QueryStats stats = measure(work);
+        if (stats.getStatementCount() > maxStatements) {
+            throw new AssertionError("Expected at most " + maxStatements + " statements but got " + stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Fail if the work issued any one statement shape more than maxExecutions times (likely N+1)
+     */
+    public static QueryStats assertNoRepeatedStatements(int maxExecutions, Work work) throws Exception {
+        QueryStats stats = measure(work);
+        if (!stats.getRepeatedStatements(maxExecutions + 1).isEmpty()) {
+            throw new AssertionError("Expected no statement executed more than " + maxExecutions
+                    + " times (likely N+1) but got " + stats);
+        }
+        return stats;
+    }
+}
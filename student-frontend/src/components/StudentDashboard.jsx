@@ -1,20 +1,52 @@
-import { useState, useEffect, useCallback } from 'react';
+import { useState, useEffect, useCallback, useMemo, useRef } from 'react';
 import axios from '../api/axios';
 import './StudentDashboard.css';
 
+// Largest ids list /api/courses/ratings/avg accepts (RatingService.MAX_BATCH_SIZE)
+const RATINGS_BATCH_SIZE = 1000;
+
+// Most course ids sent with the live update subscription, keeping its URL short;
+// beyond this the dashboard subscribes to every course
+const LIVE_UPDATES_MAX_IDS = 500;
+
+// Pause in typing before the catalog is searched on the server
+const SEARCH_DEBOUNCE_MS = 300;
+
+// Longest search term GET /api/courses accepts (CourseRestController.MAX_QUERY_LENGTH)
+const SEARCH_MAX_LENGTH = 100;
+
+// Follow the X-Next-Cursor header until the last page of a paginated listing
+async function fetchAllPages(url) {
+  const items = [];
+  let cursor = null;
+  do {
+    const response = await axios.get(url, { params: cursor ? { cursor } : {} });
+    items.push(...response.data);
+    cursor = response.headers['x-next-cursor'];
+  } while (cursor);
+  return items;
+}
+
 function StudentDashboard() {
   const [studentInfo, setStudentInfo] = useState(null);
   const [myCourses, setMyCourses] = useState([]);
   const [availableCourses, setAvailableCourses] = useState([]);
+  // Cursor of the next catalog page, null once every page is loaded
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [filteredCourses, setFilteredCourses] = useState([]);
   const [categories, setCategories] = useState([]);
   const [activeTab, setActiveTab] = useState('browse');
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState('');
   const [searchTerm, setSearchTerm] = useState('');
+  // Search term sent to the server once typing pauses
+  const [catalogQuery, setCatalogQuery] = useState('');
   const [selectedCategory, setSelectedCategory] = useState('all');
   const [courseRatings, setCourseRatings] = useState({});
   const [userRatings, setUserRatings] = useState({});
+  // Whether the live update stream is connected; rating averages then arrive without refetching
+  const liveUpdatesOpen = useRef(false);
   const studentId = localStorage.getItem('studentId');
 
   const fetchStudentInfo = useCallback(async () => {
@@ -28,8 +60,8 @@ function StudentDashboard() {
 
   const fetchCategories = useCallback(async () => {
     try {
-      const response = await axios.get('/api/categories');
-      setCategories(response.data);
+      const categories = await fetchAllPages('/api/categories');
+      setCategories(categories);
     } catch (err) {
       console.error('Failed to fetch categories:', err);
     }
@@ -38,12 +70,12 @@ function StudentDashboard() {
   const fetchMyCourses = useCallback(async () => {
     setLoading(true);
     try {
-      const response = await axios.get(`/api/students/${studentId}/courses`);
-      setMyCourses(response.data);
+      const courses = await fetchAllPages(`/api/students/${studentId}/courses`);
+      setMyCourses(courses);
 
       // Fetch ratings for enrolled courses
-      response.data.forEach(course => {
-        fetchCourseRating(course.id);
+      fetchCourseRatings(courses.map(course => course.id));
+      courses.forEach(course => {
         fetchUserRating(course.id);
       });
 
@@ -56,17 +88,20 @@ function StudentDashboard() {
     }
   }, [studentId]);
 
+  // First catalog page matching the search, or every course of the selected category
+  // (those lists are not paged and are searched on screen)
   const fetchAvailableCourses = useCallback(async () => {
     setLoading(true);
     try {
-      const response = await axios.get('/api/courses');
+      const byCategory = selectedCategory !== 'all';
+      const response = byCategory
+        ? await axios.get(`/api/courses/category/${selectedCategory}`)
+        : await axios.get('/api/courses', { params: catalogQuery ? { q: catalogQuery } : {} });
       setAvailableCourses(response.data);
-      setFilteredCourses(response.data);
+      setNextCursor(byCategory ? null : response.headers['x-next-cursor'] || null);
 
-      // Fetch average ratings for all courses
-      response.data.forEach(course => {
-        fetchCourseRating(course.id);
-      });
+      // Average ratings of the loaded courses in one batch request
+      fetchCourseRatings(response.data.map(course => course.id));
 
       setError('');
     } catch (err) {
@@ -75,7 +110,46 @@ function StudentDashboard() {
     } finally {
       setLoading(false);
     }
-  }, []);
+  }, [selectedCategory, catalogQuery]);
+
+  const loadMoreCourses = async () => {
+    if (!nextCursor) {
+      return;
+    }
+    setLoadingMore(true);
+    try {
+      const params = catalogQuery ? { cursor: nextCursor, q: catalogQuery } : { cursor: nextCursor };
+      const response = await axios.get('/api/courses', { params });
+      setAvailableCourses(prev => [...prev, ...response.data]);
+      setNextCursor(response.headers['x-next-cursor'] || null);
+      fetchCourseRatings(response.data.map(course => course.id));
+    } catch (err) {
+      showNotification('Failed to load more courses', 'error');
+      console.error(err);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
+  const fetchCourseRatings = async (courseIds) => {
+    for (let i = 0; i < courseIds.length; i += RATINGS_BATCH_SIZE) {
+      try {
+        const response = await axios.get('/api/courses/ratings/avg', {
+          params: { ids: courseIds.slice(i, i + RATINGS_BATCH_SIZE).join(',') }
+        });
+        const averages = {};
+        Object.entries(response.data).forEach(([courseId, summary]) => {
+          averages[courseId] = summary.averageRating || 0;
+        });
+        setCourseRatings(prev => ({
+          ...prev,
+          ...averages
+        }));
+      } catch (err) {
+        console.error('Failed to fetch course ratings:', err);
+      }
+    }
+  };
 
   const fetchCourseRating = async (courseId) => {
     try {
@@ -113,8 +187,10 @@ function StudentDashboard() {
         [courseId]: rating
       }));
 
-      // Refresh course rating
-      await fetchCourseRating(courseId);
+      // The live update stream pushes the new average; refetch only when it is down
+      if (!liveUpdatesOpen.current) {
+        await fetchCourseRating(courseId);
+      }
 
       showNotification('Rating submitted successfully!', 'success');
     } catch (err) {
@@ -127,10 +203,68 @@ function StudentDashboard() {
     fetchStudentInfo();
     fetchCategories();
     fetchMyCourses();
+  }, [fetchStudentInfo, fetchCategories, fetchMyCourses]);
+
+  useEffect(() => {
+    const timer = setTimeout(() => {
+      setCatalogQuery(searchTerm.trim().slice(0, SEARCH_MAX_LENGTH));
+    }, SEARCH_DEBOUNCE_MS);
+    return () => clearTimeout(timer);
+  }, [searchTerm]);
+
+  // Reloads from the first page whenever the category filter or the searched term changes
+  useEffect(() => {
     fetchAvailableCourses();
-  }, [fetchStudentInfo, fetchCategories, fetchMyCourses, fetchAvailableCourses]);
+  }, [fetchAvailableCourses]);
+
+  // Courses on screen, as a stable key so the live update stream only reconnects when they change
+  const watchedCourseIds = useMemo(() => {
+    const ids = new Set([...availableCourses, ...myCourses].map(course => course.id));
+    return [...ids].sort((a, b) => a - b).join(',');
+  }, [availableCourses, myCourses]);
+
+  // Server-Sent Events with new rating averages of the shown courses, coalesced by the backend
+  useEffect(() => {
+    if (!watchedCourseIds) {
+      return undefined;
+    }
+    const ids = watchedCourseIds.split(',');
+    const params = new URLSearchParams({ events: 'rating' });
+    if (ids.length <= LIVE_UPDATES_MAX_IDS) {
+      params.set('ids', watchedCourseIds);
+    }
+    const source = new EventSource(`${axios.defaults.baseURL}/api/courses/updates?${params}`, { withCredentials: true });
+    let reconnecting = false;
+    source.onopen = () => {
+      liveUpdatesOpen.current = true;
+      // Updates sent while the stream was down are lost
+      if (reconnecting) {
+        fetchCourseRatings(ids);
+      }
+    };
+    source.onerror = () => {
+      // EventSource reconnects on its own
+      liveUpdatesOpen.current = false;
+      reconnecting = true;
+    };
+    source.addEventListener('rating', (event) => {
+      const update = JSON.parse(event.data);
+      setCourseRatings(prev => ({
+        ...prev,
+        [update.courseId]: update.averageRating || 0
+      }));
+    });
+    // Sent when updates were dropped because this client fell behind; loaded pages stay as they are
+    source.addEventListener('resync', () => {
+      fetchCourseRatings(ids);
+    });
+    return () => {
+      liveUpdatesOpen.current = false;
+      source.close();
+    };
+  }, [watchedCourseIds]);
 
-  // Filter courses based on search term and category
+  // Filter the loaded courses by search term while typing; the server search then narrows the catalog
   useEffect(() => {
     let filtered = availableCourses;
 
@@ -142,19 +276,14 @@ function StudentDashboard() {
       );
     }
 
-    // Filter by category
-    if (selectedCategory !== 'all') {
-      filtered = filtered.filter(course => course.categoryId === parseInt(selectedCategory));
-    }
-
+    // The category filter is applied by fetchAvailableCourses
     setFilteredCourses(filtered);
-  }, [searchTerm, selectedCategory, availableCourses]);
+  }, [searchTerm, availableCourses]);
 
   const enrollInCourse = async (courseId, courseTitle) => {
     try {
       await axios.post(`/api/students/${studentId}/enroll/${courseId}`);
       await fetchMyCourses();
-      await fetchAvailableCourses();
 
       // Show success notification
       showNotification(`Successfully enrolled in "${courseTitle}"!`, 'success');
@@ -284,7 +413,7 @@ function StudentDashboard() {
           <p className="welcome-subtitle">
             {activeTab === 'my-courses'
               ? `You're enrolled in ${myCourses.length} ${myCourses.length === 1 ? 'course' : 'courses'}`
-              : `Explore ${availableCourses.length} available courses`
+              : `Explore ${availableCourses.length}${nextCursor ? '+' : ''} available courses`
             }
           </p>
         </div>
@@ -297,7 +426,7 @@ function StudentDashboard() {
           >
             <span className="tab-icon">🔍</span>
             Browse Courses
-            <span className="tab-badge">{availableCourses.length}</span>
+            <span className="tab-badge">{availableCourses.length}{nextCursor ? '+' : ''}</span>
           </button>
           <button
             className={activeTab === 'my-courses' ? 'tab active' : 'tab'}
@@ -357,7 +486,7 @@ function StudentDashboard() {
                 )}
 
                 <div className="results-count">
-                  Showing {filteredCourses.length} of {availableCourses.length} courses
+                  Showing {filteredCourses.length} of {availableCourses.length}{nextCursor ? '+' : ''} courses
                 </div>
               </div>
             </div>
@@ -412,6 +541,13 @@ function StudentDashboard() {
                 ))}
               </div>
             )}
+            {!loading && nextCursor && (
+              <div className="load-more">
+                <button className="browse-btn" onClick={loadMoreCourses} disabled={loadingMore}>
+                  {loadingMore ? 'Loading...' : 'Load more courses'}
+                </button>
+              </div>
+            )}
           </div>
         )}
 